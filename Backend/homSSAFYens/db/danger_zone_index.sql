@@ -0,0 +1,9 @@
+-- danger_zone 인덱스 (MySQL 8)
+--
+-- (ymdh, sta_nm) 복합 인덱스: 하루치 전 정점 예보 적재(DangerZoneRepo.findAllSpeedsBetween) 의 ymdh 범위 스캔
+--   + 적재(DangerZoneIngestService) 의 날짜별 DELETE
+
+ALTER TABLE danger_zone
+    ADD INDEX idx_danger_zone_ymdh_sta (ymdh, sta_nm);
+
+ANALYZE TABLE danger_zone;
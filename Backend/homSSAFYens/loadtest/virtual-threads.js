@@ -0,0 +1,77 @@
+// 가상 스레드 vs 플랫폼 스레드 부하 비교 (k6)
+//
+// 같은 빌드를 두 번 띄워 같은 스크립트로 잰다 (Java 21 런타임 필요)
+//   플랫폼: java -jar app.jar --spring.threads.virtual.enabled=false
+//   가상  : java -jar app.jar --spring.threads.virtual.enabled=true
+//   k6 run -e BASE_URL=http://localhost:8552 -e MODE=platform loadtest/virtual-threads.js
+//   k6 run -e BASE_URL=http://localhost:8552 -e MODE=virtual  loadtest/virtual-threads.js
+//
+// 캐시를 피해 원본 API 블로킹이 그대로 드러나도록 매 요청 좌표를 흩뜨린다 (geoKey 격자 0.001° 밖으로)
+// - /api/v1/air/fine_dust : 원본 3번 직렬 호출 (가장 오래 막힘)
+// - /api/v1/tide/weekly   : 주간 조석 1번
+// - /api/v1/device/locate : Redis + 예약
+// 비교 지표: http_req_duration p(99), http_reqs(rate), 실패율, 그리고 ramping 중 p99 가 무너지는 VU 수
+// 가설: 플랫폼 모드는 Tomcat 기본 200 스레드가 막히는 지점에서 대기열이 길어져 p99 가 튄다
+// (아직 측정 전 — 가상 스레드 모드를 기본으로 켜기 전에 두 모드 결과를 남길 것)
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE = __ENV.BASE_URL || 'http://localhost:8552';
+const MODE = __ENV.MODE || 'unknown';
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 100 },
+                { duration: '1m', target: 400 },
+                { duration: '1m', target: 1000 },
+                { duration: '1m', target: 1000 },
+                { duration: '20s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    tags: { mode: MODE },
+    thresholds: {
+        // 기준선: 통과/실패가 아니라 두 모드 결과 비교용 (abortOnFail 없음)
+        'http_req_duration{endpoint:air}': ['p(99)<5000'],
+        'http_req_failed': ['rate<0.05'],
+    },
+};
+
+// 연안 위주 좌표 + 지터
+const SPOTS = [
+    [35.158, 129.160], [34.760, 127.662], [33.510, 126.529],
+    [37.456, 126.705], [36.032, 129.365], [34.811, 126.392],
+];
+
+function spot() {
+    const [lat, lon] = SPOTS[Math.floor(Math.random() * SPOTS.length)];
+    return [lat + (Math.random() - 0.5) * 0.2, lon + (Math.random() - 0.5) * 0.2];
+}
+
+export default function () {
+    const [lat, lon] = spot();
+    const r = Math.random();
+
+    if (r < 0.4) {
+        const res = http.get(`${BASE}/api/v1/air/fine_dust?lat=${lat}&lon=${lon}`, { tags: { endpoint: 'air' } });
+        check(res, { 'air 200': (x) => x.status === 200 });
+    } else if (r < 0.7) {
+        const res = http.get(`${BASE}/api/v1/tide/weekly?lat=${lat}&lon=${lon}`, { tags: { endpoint: 'tide' } });
+        check(res, { 'tide 200': (x) => x.status === 200 });
+    } else {
+        const body = JSON.stringify({
+            deviceId: `lt-${__VU}`, lat, lon, ts: Math.floor(Date.now() / 1000),
+        });
+        const res = http.post(`${BASE}/api/v1/device/locate`, body, {
+            headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'locate' },
+        });
+        check(res, { 'locate 200': (x) => x.status === 200 });
+    }
+}
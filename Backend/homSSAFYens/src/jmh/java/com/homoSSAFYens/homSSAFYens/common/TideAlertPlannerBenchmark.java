@@ -0,0 +1,73 @@
+package com.homoSSAFYens.homSSAFYens.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /locate 1건의 속도 집계 비용
+ * - boxed: 예전 방식 (List<BigDecimal> 를 통계/적분에서 두 번 순회, doubleValue 반복)
+ * - primitive: TideAlertPlanner.summarize (double[] 한 번 순회)
+ * size = 반경 안 정점 수 × L~T 시간 수 (정점 몇 개 × 6~7시간이 보통)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TideAlertPlannerBenchmark {
+
+    @Param({"7", "42", "420"})
+    int size;
+
+    private static final long FROM = 1_752_537_600L;
+    private static final long TO = FROM + 6 * 3600 + 1800;
+
+    double[] primitive;
+    List<BigDecimal> boxed;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        primitive = new double[size];
+        boxed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double v = Math.round((rnd.nextDouble() * 50 - 5) * 1000) / 1000.0;
+            primitive[i] = v;
+            boxed.add(BigDecimal.valueOf(v));
+        }
+    }
+
+    @Benchmark
+    public void boxed(Blackhole bh) {
+        double vmax = 0, sum = 0; int c = 0;
+        for (BigDecimal b : boxed) {
+            double v = b.doubleValue();
+            if (v > 0) { vmax = Math.max(vmax, v); sum += v; c++; }
+        }
+        double hoursPerSample = Math.max(1.0/60, (TO - FROM) / 3600.0 / boxed.size());
+        double rise = 0;
+        for (BigDecimal b : boxed) {
+            double v = b.doubleValue();
+            if (v > 0) rise += v * hoursPerSample;
+        }
+        bh.consume(vmax);
+        bh.consume(c > 0 ? sum / c : 0);
+        bh.consume(rise);
+    }
+
+    @Benchmark
+    public TideAlertPlanner.RiseSummary primitive() {
+        return TideAlertPlanner.summarize(primitive, FROM, TO);
+    }
+}
@@ -64,6 +64,11 @@ public class AirApiClient {
      * @return
      */
     public AirKoreaResponse getAirInfo(String s, String dateTerm, int numOfRows, int pageNo) {
+        return getAirInfoMono(s, dateTerm, numOfRows, pageNo).block();
+    }
+
+    /** getAirInfo 논블로킹 버전 (구독 시 호출) */
+    public Mono<AirKoreaResponse> getAirInfoMono(String s, String dateTerm, int numOfRows, int pageNo) {
 
         String station  = UriUtils.encode(s, StandardCharsets.UTF_8);
         return wc.get()
@@ -80,8 +85,7 @@ public class AirApiClient {
                 )
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToMono(AirKoreaResponse.class)
-                .block();
+                .bodyToMono(AirKoreaResponse.class);
     }
 
     /**
@@ -90,8 +94,13 @@ public class AirApiClient {
      * @param tmY EPSG:5186 Y
      */
     public StationResponse getNearestStation(double tmX, double tmY) {
+        return getNearestStationMono(tmX, tmY).block();
+    }
 
-        StationResponse res = wc.get()
+    /** getNearestStation 논블로킹 버전 (헤더 검증 실패는 에러 시그널) */
+    public Mono<StationResponse> getNearestStationMono(double tmX, double tmY) {
+
+        return wc.get()
                 .uri(u -> u
                         .path(NEAREST_STATION_PATH)
                         .queryParam("serviceKey", apiKey)   // <-- 가급적 '디코딩키(평문)' 사용
@@ -112,9 +121,12 @@ public class AirApiClient {
                             .flatMap(body -> Mono.error(new IllegalStateException(
                                     "getNearbyMsrstnList failed: " + sc.value() + " body=" + body)));
                 })
-                .block();
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Invalid response from getNearbyMsrstnList")))
+                .map(AirApiClient::checkStation);
+    }
 
-        if (res == null || res.getResponse() == null || res.getResponse().getHeader() == null) {
+    private static StationResponse checkStation(StationResponse res) {
+        if (res.getResponse() == null || res.getResponse().getHeader() == null) {
             throw new IllegalStateException("Invalid response from getNearbyMsrstnList");
         }
 
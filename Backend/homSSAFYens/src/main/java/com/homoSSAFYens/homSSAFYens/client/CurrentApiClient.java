@@ -9,6 +9,7 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -31,6 +32,11 @@ public class CurrentApiClient {
      * @return CurrentEnvelope
      */
     public CurrentEnvelope getCurrent(double lat, double lon) {
+        return getCurrentMono(lat, lon).block();
+    }
+
+    /** getCurrent 논블로킹 버전 (구독 시 호출) */
+    public Mono<CurrentEnvelope> getCurrentMono(double lat, double lon) {
         return wc.get()
                 .uri(u -> u
                         .queryParam("key", apiKey) // 예: ServiceKey
@@ -39,8 +45,7 @@ public class CurrentApiClient {
                         .build()
                 )
                 .retrieve()
-                .bodyToMono(CurrentEnvelope.class)
-                .block();
+                .bodyToMono(CurrentEnvelope.class);
     }
 
 
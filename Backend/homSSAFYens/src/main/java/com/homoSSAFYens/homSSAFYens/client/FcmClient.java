@@ -1,11 +1,12 @@
 package com.homoSSAFYens.homSSAFYens.client;
 
-import com.google.firebase.messaging.AndroidConfig;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * FCM Admin SDK로 data-only 메시지를 전송한다.
@@ -14,13 +15,11 @@ import java.util.Map;
 @Component
 public class FcmClient {
 
-    public void sendData(String token, Map<String, String> data) throws Exception {
-        Message msg = Message.builder()
-                .setToken(token)
-                .putAllData(data)
-                .setAndroidConfig(AndroidConfig.builder()
-                        .setPriority(AndroidConfig.Priority.HIGH).build())
-                .build();
-        FirebaseMessaging.getInstance().send(msg);
+    /** sendEach 1회 최대 메시지 수 */
+    public static final int BATCH_LIMIT = 500;
+
+    /** 메시지 묶음 전송 (최대 500개). 결과는 입력 순서와 같다 */
+    public BatchResponse sendEach(List<Message> messages) throws FirebaseMessagingException {
+        return FirebaseMessaging.getInstance().sendEach(messages);
     }
 }
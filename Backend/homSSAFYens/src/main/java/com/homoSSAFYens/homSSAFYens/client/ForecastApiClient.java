@@ -8,6 +8,7 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -29,6 +30,11 @@ public class ForecastApiClient {
      * @return List<ForecastExternalDto> 7일치 값을 ForcastExternalDto로 분리후 날짜 별로 분리
      */
     public List<ForecastExternalDto> getForecast(double lat, double lon) {
+        return getForecastMono(lat, lon).block();
+    }
+
+    /** getForecast 논블로킹 버전 (구독 시 호출) */
+    public Mono<List<ForecastExternalDto>> getForecastMono(double lat, double lon) {
         return wc.get()
                 .uri(u -> u
                         .queryParam("key", apiKey)
@@ -38,8 +44,7 @@ public class ForecastApiClient {
                 )
                 .accept(MediaType.ALL) // 혹시 모를 콘텐츠 협상 문제 회피
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<ForecastExternalDto>>(){})
-                .block();
+                .bodyToMono(new ParameterizedTypeReference<List<ForecastExternalDto>>(){});
     }
 
     /**
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 @Component
 public class PointApiClient {
@@ -25,6 +26,11 @@ public class PointApiClient {
      * @return PointEnvelope
      */
     public PointEnvelope getPoint(double lat, double lon) {
+        return getPointMono(lat, lon).block();
+    }
+
+    /** getPoint 논블로킹 버전 (구독 시 호출) */
+    public Mono<PointEnvelope> getPointMono(double lat, double lon) {
         return wc.get()
                 .uri(u -> u
                         .queryParam("key", apiKey)
@@ -33,8 +39,7 @@ public class PointApiClient {
                         .build()
                 )
                 .retrieve()
-                .bodyToMono(PointEnvelope.class)
-                .block();
+                .bodyToMono(PointEnvelope.class);
     }
 
     /**
@@ -6,6 +6,7 @@ import com.homoSSAFYens.homSSAFYens.dto.SgisKeyResponse;
 import com.homoSSAFYens.homSSAFYens.dto.SgisTranscoordResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,6 +24,7 @@ public class SgisApiClient {
     private static final String ISSUE_PATH = "/auth/authentication.json";
     private static final String TRANS_POSITION_PATH = "/transformation/transcoord.json";
     private static final String GEOCODEWGS84_PATH = "/addr/geocodewgs84.json";
+    private static final Duration TOKEN_TTL = Duration.ofMinutes(230);
 
     private final WebClient wc;
     private final String consumerKey;
@@ -30,16 +32,19 @@ public class SgisApiClient {
     private final String keyParam;
     private final String SecretParam;
     private final StringRedisTemplate redis;
+    private final ReactiveStringRedisTemplate reactiveRedis;
 
     public SgisApiClient(@Qualifier("sgisWebClient") WebClient wc,
                          ClientProperties props,
-                         StringRedisTemplate redis) {
+                         StringRedisTemplate redis,
+                         ReactiveStringRedisTemplate reactiveRedis) {
         this.wc = wc;
         this.consumerKey = props.getSgis().getConsumerKey();
         this.consumerSecret = props.getSgis().getConsumerSecret();
         this.keyParam = props.getSgis().getKeyParam();
         this.SecretParam = props.getSgis().getSecretParam();
         this.redis = redis;
+        this.reactiveRedis = reactiveRedis;
 
     }
 
@@ -52,7 +57,26 @@ public class SgisApiClient {
         }
 
         // 2) 외부 API 호출 - 없으면
-        SgisKeyResponse res = wc.get()
+        String token = issueToken().block();
+
+        // 3) 3시간 50분(=230분) TTL로 저장
+        redis.opsForValue().set(REDIS_KEY, token, TOKEN_TTL);
+
+        return token;
+    }
+
+    /** getSgisAccessKey 논블로킹 버전 (토큰 캐시도 리액티브 Redis) */
+    public Mono<String> getSgisAccessKeyMono() {
+        return reactiveRedis.opsForValue().get(REDIS_KEY)
+                .filter(StringUtils::hasText)
+                .switchIfEmpty(Mono.defer(() -> issueToken()
+                        .flatMap(token -> reactiveRedis.opsForValue().set(REDIS_KEY, token, TOKEN_TTL)
+                                .thenReturn(token))));
+    }
+
+    /** 토큰 발급 호출 + 응답 검증 */
+    private Mono<String> issueToken() {
+        return wc.get()
                 .uri(uriBuilder -> uriBuilder
                         .path(ISSUE_PATH)
                         .queryParam(keyParam, consumerKey)
@@ -60,24 +84,16 @@ public class SgisApiClient {
                         .build())
                 .retrieve()
                 .bodyToMono(SgisKeyResponse.class)
-                .block();
-
-        if (res == null) {
-            throw new IllegalStateException("SGIS token response is null");
-        }
-        if (res.getErrCd() != null && res.getErrCd() != 0) {
-            throw new IllegalStateException("SGIS token error: " + res.getErrCd() + " - " + res.getErrMsg());
-        }
-        if (res.getResult() == null || !StringUtils.hasText(res.getResult().getAccessToken())) {
-            throw new IllegalStateException("SGIS token missing in response");
-        }
-
-        String token = res.getResult().getAccessToken();
-
-        // 3) 3시간 50분(=230분) TTL로 저장
-        redis.opsForValue().set(REDIS_KEY, token, Duration.ofMinutes(230));
-
-        return token;
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("SGIS token response is null")))
+                .map(res -> {
+                    if (res.getErrCd() != null && res.getErrCd() != 0) {
+                        throw new IllegalStateException("SGIS token error: " + res.getErrCd() + " - " + res.getErrMsg());
+                    }
+                    if (res.getResult() == null || !StringUtils.hasText(res.getResult().getAccessToken())) {
+                        throw new IllegalStateException("SGIS token missing in response");
+                    }
+                    return res.getResult().getAccessToken();
+                });
     }
 
     // 좌표 변환   EPSG:4326 to EPSG:5181
@@ -89,7 +105,16 @@ public class SgisApiClient {
                 .orElseGet(this::getSgisAccessKey);
 
         // 2) SGIS 좌표변환 호출
-        SgisTranscoordResponse res = wc.get()
+        return transcoord(token, lat, lon).block();
+    }
+
+    /** getSgisRgeocode 논블로킹 버전: 토큰 → 좌표변환 */
+    public Mono<SgisTranscoordResponse> getSgisRgeocodeMono(double lat, double lon) {
+        return getSgisAccessKeyMono().flatMap(token -> transcoord(token, lat, lon));
+    }
+
+    private Mono<SgisTranscoordResponse> transcoord(String token, double lat, double lon) {
+        return wc.get()
                 .uri(b -> b
                         .path(TRANS_POSITION_PATH)
                         .queryParam("accessToken", token)
@@ -109,20 +134,17 @@ public class SgisApiClient {
                                         "SGIS transcoord failed: " + cr.statusCode().value() + " body=" + body)));
                     }
                 })
-                .block();
-
-        if (res == null) {
-            throw new IllegalStateException("SGIS transcoord response is null");
-        }
-        if (res.getErrCd() != null && res.getErrCd() != 0) {
-            throw new IllegalStateException("SGIS transcoord error: errCd=" + res.getErrCd()
-                    + ", errMsg=" + res.getErrMsg());
-        }
-        if (res.getResult() == null) {
-            throw new IllegalStateException("SGIS transcoord result is null");
-        }
-
-        return res;
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("SGIS transcoord response is null")))
+                .map(res -> {
+                    if (res.getErrCd() != null && res.getErrCd() != 0) {
+                        throw new IllegalStateException("SGIS transcoord error: errCd=" + res.getErrCd()
+                                + ", errMsg=" + res.getErrMsg());
+                    }
+                    if (res.getResult() == null) {
+                        throw new IllegalStateException("SGIS transcoord result is null");
+                    }
+                    return res;
+                });
     }
 
 
@@ -132,7 +154,16 @@ public class SgisApiClient {
                 .filter(StringUtils::hasText)
                 .orElseGet(this::getSgisAccessKey);
 
-        SgisGeoCodewgs84Response res = wc.get()
+        return geoCodewgs84(token, address).blockOptional();
+    }
+
+    /** getGeoCodewgs84 논블로킹 버전 (검색 결과 없으면 빈 Mono) */
+    public Mono<SgisGeoCodewgs84Response> getGeoCodewgs84Mono(String address) {
+        return getSgisAccessKeyMono().flatMap(token -> geoCodewgs84(token, address));
+    }
+
+    private Mono<SgisGeoCodewgs84Response> geoCodewgs84(String token, String address) {
+        return wc.get()
                 .uri(b -> b
                         .path(GEOCODEWGS84_PATH)
                         .queryParam("accessToken", token)
@@ -142,28 +173,28 @@ public class SgisApiClient {
                         .build())
                 .retrieve()
                 .bodyToMono(SgisGeoCodewgs84Response.class)
-                .block();
-
-        if (res == null) {
-            throw new IllegalStateException("SGIS geocode(WGS84) response is null");
-        }
-
-        // 검색 결과 없음 처리
-        if (res.getErrCd() != null && res.getErrCd() == -100) {
-            return Optional.empty();
-        }
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("SGIS geocode(WGS84) response is null")))
+                .handle((res, sink) -> {
+                    // 검색 결과 없음 처리
+                    if (res.getErrCd() != null && res.getErrCd() == -100) {
+                        sink.complete();
+                        return;
+                    }
 
-        // 그 외 에러는 예외 처리
-        if (res.getErrCd() != null && res.getErrCd() != 0) {
-            throw new IllegalStateException("SGIS geocode(WGS84) error: errCd=" + res.getErrCd()
-                    + ", errMsg=" + res.getErrMsg());
-        }
+                    // 그 외 에러는 예외 처리
+                    if (res.getErrCd() != null && res.getErrCd() != 0) {
+                        sink.error(new IllegalStateException("SGIS geocode(WGS84) error: errCd=" + res.getErrCd()
+                                + ", errMsg=" + res.getErrMsg()));
+                        return;
+                    }
 
-        if (res.getResult() == null || res.getResult().getResultData() == null
-                || res.getResult().getResultData().isEmpty()) {
-            return Optional.empty();
-        }
+                    if (res.getResult() == null || res.getResult().getResultData() == null
+                            || res.getResult().getResultData().isEmpty()) {
+                        sink.complete();
+                        return;
+                    }
 
-        return Optional.of(res);
+                    sink.next(res);
+                });
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -29,6 +30,11 @@ public class TempApiClient {
      * @return List<TempExternalDto>
      */
     public List<TempExternalDto> getTemp(double lat, double lon) {
+        return getTempMono(lat, lon).block();
+    }
+
+    /** getTemp 논블로킹 버전 (구독 시 호출) */
+    public Mono<List<TempExternalDto>> getTempMono(double lat, double lon) {
         return wc.get()
                 .uri(u -> u
                         .queryParam("key", apiKey)
@@ -38,8 +44,7 @@ public class TempApiClient {
                 )
                 .accept(MediaType.ALL) // 혹시 모를 콘텐츠 협상 문제 회피
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<TempExternalDto>>(){})
-                .block();
+                .bodyToMono(new ParameterizedTypeReference<List<TempExternalDto>>(){});
     }
 
 
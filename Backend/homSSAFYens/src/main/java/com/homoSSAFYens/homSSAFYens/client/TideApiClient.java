@@ -8,6 +8,7 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -30,6 +31,11 @@ public class TideApiClient {
      * @return List<TideExternalDto> 7일치 값을 TideExternalDto로 1일씩 분리
      */
     public List<TideExternalDto> getTide(double lat, double lon) {
+        return getTideMono(lat, lon).block();
+    }
+
+    /** getTide 논블로킹 버전 (구독 시 호출) */
+    public Mono<List<TideExternalDto>> getTideMono(double lat, double lon) {
         return wc.get()
                 .uri(u -> u
                         .queryParam("key", apiKey) // 인증키(쿼리 파라미터)
@@ -39,8 +45,7 @@ public class TideApiClient {
                         .build()
                 )
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<TideExternalDto>>(){} )
-                .block();
+                .bodyToMono(new ParameterizedTypeReference<List<TideExternalDto>>(){} );
     }
 
     /**
@@ -2,6 +2,7 @@ package com.homoSSAFYens.homSSAFYens.common;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import reactor.core.publisher.Mono;
 
  @Getter @AllArgsConstructor
 public class ApiResponse<T> {
@@ -23,6 +24,12 @@ public class ApiResponse<T> {
         return of(ResponseCode.SUCCESS, message, data);
     }
 
+    /** Mono 응답용: 값이 없으면(빈 Mono) data=null 로 — 블로킹 핸들러와 같은 응답 */
+    public static <T> Mono<ApiResponse<T>> successMono(String message, Mono<T> data) {
+        return data.map(v -> success(message, v))
+                .defaultIfEmpty(success(message, null));
+    }
+
     public static <T> ApiResponse<T> error(ResponseCode responseCode, String message) {
         return of(responseCode, message, null);
     }
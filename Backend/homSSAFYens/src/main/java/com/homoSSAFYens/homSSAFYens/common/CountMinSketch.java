@@ -0,0 +1,61 @@
+package com.homoSSAFYens.homSSAFYens.common;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-Min sketch (빈도 근사, 스레드 안전)
+ * - depth 개 행 × width 칸 카운터. add: 행마다 해시 칸 +1, estimate: 행들 중 최솟값 (과대추정만 있음)
+ * - halve: 모든 카운터를 절반으로 → 오래된 인기는 서서히 잊힘 (주기적으로 호출)
+ * 메모리 = depth × width × 4바이트 (기본 4 × 16384 = 256KB)
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicIntegerArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 2 || depth < 1) throw new IllegalArgumentException("width>=2, depth>=1");
+        int w = Integer.highestOneBit(width - 1) << 1; // 2의 거듭제곱으로 올림
+        this.depth = depth;
+        this.mask = w - 1;
+        this.counters = new AtomicIntegerArray(w * depth);
+    }
+
+    /** +1 하고 증가 후 추정치 반환 */
+    public int add(String key) {
+        int h = key.hashCode();
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            int v = counters.incrementAndGet(index(h, i));
+            if (v < 0) { counters.set(index(h, i), Integer.MAX_VALUE); v = Integer.MAX_VALUE; } // 포화
+            if (v < min) min = v;
+        }
+        return min;
+    }
+
+    public int estimate(String key) {
+        int h = key.hashCode();
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, counters.get(index(h, i)));
+        }
+        return min;
+    }
+
+    /** 감쇠: 전부 절반 (진행 중인 add 와 섞여도 오차 1 이내) */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    /** 행마다 다른 시드로 섞은 칸 번호 */
+    private int index(int h, int row) {
+        long z = (h & 0xffffffffL) + 0x9E3779B97F4A7C15L * (row + 1);
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z ^= z >>> 33;
+        return row * (mask + 1) + ((int) z & mask);
+    }
+}
@@ -13,7 +13,11 @@ public class GeoKeyUtil {
 
 
     public static String dayKST() {
-        return LocalDate.now(KST).format(DAY);
+        return todayKST().format(DAY);
+    }
+    /** 캐시 키 날짜 기준 (JVM 기본 시간대와 무관하게 KST) */
+    public static LocalDate todayKST() {
+        return LocalDate.now(KST);
     }
     public static String dayKST(LocalDate date) {
         return date.format(DAY);
@@ -2,7 +2,6 @@ package com.homoSSAFYens.homSSAFYens.common;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Slf4j
@@ -10,34 +9,26 @@ public class TideAlertPlanner {
 
     private TideAlertPlanner() {}
 
-    public record Stats(double vmax, double vmeanPos) {}
-
-    /** +속도만 집계: vmax, vmean(+) */
-    public static Stats statsBD(List<BigDecimal> speeds) {
-        double vmax = 0, sum = 0; int c=0;
-        if (speeds != null) {
-            for (BigDecimal b : speeds) {
-                if (b == null) continue;
-                double v = b.doubleValue();
-                if (v > 0) { vmax = Math.max(vmax, v); sum += v; c++; }
-            }
-        }
-        return new Stats(vmax, c>0 ? sum/c : 0);
-    }
+    /** +속도 집계 + 상승량 적분 (한 번에) */
+    public record RiseSummary(double vmax, double vmeanPos, double riseCm) {}
 
     /**
-     * 상승량 적분(cm) — 속도 단위를 cm/h 가정.
-     * 샘플 간격(h) ~ (to-from)/N/3600 로 근사 (최소 1분 보정)
+     * 시간별 상승속도 한 번 순회로
+     * - vmax, vmean(+): +속도만 집계
+     * - 상승량 적분(cm): 속도 단위를 cm/h 가정, 샘플 간격(h) ~ (to-from)/N/3600 로 근사 (최소 1분 보정)
+     * NaN(값 없음)은 건너뛰되 샘플 수에는 포함
      */
-    public static double integrateRiseCm(List<BigDecimal> speeds, long fromEpoch, long toEpoch) {
-        if (speeds == null || speeds.isEmpty()) return 0;
-        double hoursPerSample = Math.max(1.0/60, (toEpoch - fromEpoch) / 3600.0 / Math.max(1, speeds.size()));
-        double s=0;
-        for (BigDecimal b : speeds) {
-            double v = (b==null?0:b.doubleValue());
-            if (v > 0) s += v * hoursPerSample;
+    public static RiseSummary summarize(double[] speeds, long fromEpoch, long toEpoch) {
+        if (speeds == null || speeds.length == 0) return new RiseSummary(0, 0, 0);
+        double vmax = 0, sum = 0; int c = 0;
+        for (double v : speeds) {
+            if (v > 0) { // NaN 도 여기서 걸러짐
+                if (v > vmax) vmax = v;
+                sum += v; c++;
+            }
         }
-        return s;
+        double hoursPerSample = Math.max(1.0/60, (toEpoch - fromEpoch) / 3600.0 / speeds.length);
+        return new RiseSummary(vmax, c>0 ? sum/c : 0, sum * hoursPerSample);
     }
 
     /** 속도 기반 동적 오프셋. 앞당김만 적용(뒤로 미루지 않음) */
@@ -0,0 +1,80 @@
+package com.homoSSAFYens.homSSAFYens.common;
+
+import com.homoSSAFYens.homSSAFYens.dto.TideHighInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * geoKey 하나의 여러 날(주간 7일치) 간만조를 디코딩해 둔 타임라인 (불변)
+ * - 만조/간조 각각 시각(epoch 초) 오름차순 long[] + 변화량 int[]
+ * - "구간 안 만조", "T 직전 간조" 를 이진 탐색으로 (자정을 넘어도 그대로)
+ * - 만들기: TideCalcUtil.timeline(weekly, zone)
+ */
+public final class TideTimeline {
+
+    /** 변화량 없음 */
+    public static final int NO_DELTA = Integer.MIN_VALUE;
+
+    private final long[] highTs;
+    private final int[] highDelta;
+    private final String[] highLoc;
+
+    private final long[] lowTs;
+    private final int[] lowDelta;
+
+    TideTimeline(long[] highTs, int[] highDelta, String[] highLoc, long[] lowTs, int[] lowDelta) {
+        this.highTs = highTs;
+        this.highDelta = highDelta;
+        this.highLoc = highLoc;
+        this.lowTs = lowTs;
+        this.lowDelta = lowDelta;
+    }
+
+    /** (fromExcl, toExcl) 사이 만조 (시각 순) */
+    public List<TideHighInfo> highsBetween(long fromExcl, long toExcl) {
+        int i = upperBound(highTs, fromExcl);
+        List<TideHighInfo> out = new ArrayList<>();
+        for (; i < highTs.length && highTs[i] < toExcl; i++) {
+            out.add(new TideHighInfo(highTs[i], highLoc[i]));
+        }
+        return out;
+    }
+
+    /** T 직전(< T) 간조 시각 */
+    public OptionalLong prevLowBefore(long T) {
+        int i = lowerBound(lowTs, T) - 1;
+        return i >= 0 ? OptionalLong.of(lowTs[i]) : OptionalLong.empty();
+    }
+
+    /** 시각 T 인 이벤트의 |deltaCm| (만조 먼저, 없으면 간조). 없으면 0 */
+    public int deltaAt(long T) {
+        int i = Arrays.binarySearch(highTs, T);
+        if (i >= 0) return highDelta[i] == NO_DELTA ? 0 : Math.abs(highDelta[i]);
+        i = Arrays.binarySearch(lowTs, T);
+        if (i >= 0) return lowDelta[i] == NO_DELTA ? 0 : Math.abs(lowDelta[i]);
+        return 0;
+    }
+
+    /** a[i] >= key 인 첫 i */
+    private static int lowerBound(long[] a, long key) {
+        int lo = 0, hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** a[i] > key 인 첫 i */
+    private static int upperBound(long[] a, long key) {
+        int lo = 0, hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,97 @@
+package com.homoSSAFYens.homSSAFYens.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠 (단일 스레드 전용)
+ * - level 0: tickMs 칸 wheelSize 개, level i: tickMs * wheelSize^i 칸 wheelSize 개
+ * - add: 만료 시각에 맞는 가장 낮은 level 칸에 O(1) 삽입
+ * - advance: 칸을 지날 때마다 위 level 칸을 아래로 내려보내고(cascade), 지난 level 0 칸을 꺼낸다
+ *
+ * 예) tick 1s, size 60, levels 2 → 1분까지는 초 단위 칸, 1시간까지는 분 단위 칸
+ */
+public class TimingWheel<T> {
+
+    private record Entry<T>(long expireAtMs, T item) {}
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] interval;              // level 별 칸 크기(ms)
+    private final ArrayDeque<Entry<T>>[][] slots;
+
+    /** 아직 안 꺼낸 가장 이른 level 0 칸의 시작 시각 */
+    private long currentMs;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMs>0, wheelSize>=2, levels>=1");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = new long[levels];
+        this.slots = new ArrayDeque[levels][wheelSize];
+        long iv = tickMs;
+        for (int i = 0; i < levels; i++) {
+            interval[i] = iv;
+            for (int s = 0; s < wheelSize; s++) slots[i][s] = new ArrayDeque<>();
+            iv *= wheelSize;
+        }
+        this.currentMs = startMs - (startMs % tickMs);
+    }
+
+    /** 휠이 담을 수 있는 최대 미래 (현재 기준) */
+    public long horizonMs() {
+        return interval[interval.length - 1] * wheelSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 넣었으면 true. 이미 지난 시각이거나 휠 범위 밖이면 false (호출자가 바로 처리/나중에 다시)
+     */
+    public boolean add(long expireAtMs, T item) {
+        if (expireAtMs < currentMs) return false;
+        for (int i = 0; i < interval.length; i++) {
+            if (expireAtMs < currentMs + interval[i] * wheelSize) {
+                int slot = (int) ((expireAtMs / interval[i]) % wheelSize);
+                slots[i][slot].add(new Entry<>(expireAtMs, item));
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** nowMs 까지 시간을 진행시키고 만료된 항목을 돌려준다 */
+    public List<T> advance(long nowMs) {
+        List<T> due = new ArrayList<>();
+        while (currentMs + tickMs <= nowMs) {
+            // 1) 지나간 level 0 칸 꺼내기
+            ArrayDeque<Entry<T>> bucket = slots[0][(int) ((currentMs / tickMs) % wheelSize)];
+            while (!bucket.isEmpty()) {
+                due.add(bucket.poll().item());
+                size--;
+            }
+            currentMs += tickMs;
+
+            // 2) 칸 경계에 닿은 위 level 을 높은 것부터 아래로 내려보내기
+            for (int i = interval.length - 1; i >= 1; i--) {
+                if (currentMs % interval[i] != 0) continue;
+                ArrayDeque<Entry<T>> upper = slots[i][(int) ((currentMs / interval[i]) % wheelSize)];
+                List<Entry<T>> moving = new ArrayList<>(upper);
+                upper.clear();
+                size -= moving.size();
+                for (Entry<T> e : moving) {
+                    if (!add(e.expireAtMs(), e.item())) due.add(e.item());
+                }
+            }
+        }
+        return due;
+    }
+}
@@ -0,0 +1,89 @@
+package com.homoSSAFYens.homSSAFYens.config;
+
+import com.homoSSAFYens.homSSAFYens.service.DangerZoneService;
+import com.homoSSAFYens.homSSAFYens.service.NearCache;
+import com.homoSSAFYens.homSSAFYens.service.SingleFlight;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 캐시 계층 설정
+ * - CacheProperties 바인딩
+ * - L1 무효화 / single-flight 채워짐 메시지 구독 컨테이너 (위험구역 하루치 캐시도 L1 무효화 채널로 비움)
+ * - soft 만료 백그라운드 갱신용 작은 풀 (꽉 차면 갱신을 건너뛰고 stale 값 계속 제공, 가상 스레드 모드면 가상 스레드)
+ * - 캐시 값 전용 byte[] 템플릿 (CacheValueCodec 이 헤더/포맷/압축을 직접 처리) + 같은 직렬화의 리액티브 템플릿
+ * - 스케줄링: 인기 셀 선로딩(CachePrefetcher), sketch 감쇠(HotKeyTracker)
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer cacheListenerContainer(RedisConnectionFactory cf,
+                                                                 NearCache nearCache,
+                                                                 SingleFlight singleFlight,
+                                                                 DangerZoneService dangerZoneService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(cf);
+        container.addMessageListener(nearCache, new ChannelTopic(nearCache.getChannel()));
+        container.addMessageListener(singleFlight, new ChannelTopic(SingleFlight.CHANNEL));
+        container.addMessageListener(dangerZoneService, new ChannelTopic(nearCache.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public RedisTemplate<String, byte[]> cacheBytesRedisTemplate(RedisConnectionFactory cf) {
+        RedisTemplate<String, byte[]> t = new RedisTemplate<>();
+        t.setConnectionFactory(cf);
+        t.setKeySerializer(RedisSerializer.string());
+        t.setValueSerializer(RedisSerializer.byteArray());
+        return t;
+    }
+
+    /** Mono 경로(getOrLoadMono)용: 키/값 포맷은 cacheBytesRedisTemplate 과 동일 */
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> cacheBytesReactiveRedisTemplate(ReactiveRedisConnectionFactory cf) {
+        RedisSerializationContext<String, byte[]> ctx = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveRedisTemplate<>(cf, ctx);
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(2);
+        ex.setMaxPoolSize(8);
+        ex.setQueueCapacity(200);
+        ex.setThreadNamePrefix("cache-refresh-");
+        return ex;
+    }
+
+    /** 가상 스레드 모드: 갱신마다 가상 스레드, 상한을 넘으면 풀과 같이 거절 → 갱신 건너뜀 */
+    @Bean(name = "cacheRefreshExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor cacheRefreshVirtualExecutor() {
+        SimpleAsyncTaskExecutor ex = new SimpleAsyncTaskExecutor("cache-refresh-");
+        ex.setVirtualThreads(true);
+        ex.setConcurrencyLimit(64);
+        ex.setRejectTasksWhenLimitReached(true);
+        return ex;
+    }
+}
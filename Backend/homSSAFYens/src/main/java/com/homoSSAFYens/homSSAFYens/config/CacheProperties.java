@@ -0,0 +1,200 @@
+package com.homoSSAFYens.homSSAFYens.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * application.yml 의 'cache' 섹션 바인딩
+ *
+ * 예) yml
+ * cache:
+ *   near:
+ *     enabled: true
+ *     prefixes:
+ *       tide7d:
+ *         max-size: 2000
+ *         ttl: 6h
+ *       temp:
+ *         max-size: 5000
+ *         ttl: 1m
+ *
+ *   codec:
+ *     default-format: json
+ *     compress-threshold: 512
+ *     prefixes:
+ *       tide7d: smile
+ *
+ *   prefetch:
+ *     top-n: 300        # 종류별 인기 셀 수
+ *     budget: 1000      # 한 번 돌 때 원본 API 호출 상한
+ *     rate-per-sec: 10
+ *     ttl-lead: 2m
+ *
+ *  ↳ prefix 는 캐시 키의 첫 ':' 앞부분 (예: "tide7d:35.1,129.0:20250721" → tide7d)
+ *  ↳ 여기에 없는 prefix(lock:, sched: 등)는 L1(힙) 캐시를 타지 않고 Redis 로만 간다.
+ *  ↳ codec 은 Redis 에 저장할 값 포맷. 읽을 때는 헤더로 판별하므로 포맷을 바꿔도 기존 엔트리는 그대로 읽힌다.
+ */
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    /** prefix 별 L1 한도 */
+    public static class Tier {
+        /** 최대 엔트리 수 (넘치면 W-TinyLFU 로 축출) */
+        private long maxSize = 2000;
+        /** L1 보관 시간. Redis TTL 보다 길어지지 않게 min(ttl, Redis TTL) 로 잘린다 */
+        private Duration ttl = Duration.ofMinutes(1);
+
+        public Tier() {}
+
+        public Tier(long maxSize, Duration ttl) {
+            this.maxSize = maxSize;
+            this.ttl = ttl;
+        }
+
+        // --- getters/setters ---
+        public long getMaxSize() { return maxSize; }
+        public void setMaxSize(long maxSize) { this.maxSize = maxSize; }
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+    }
+
+    /** Redis 앞단 in-process L1 설정 */
+    public static class Near {
+        private boolean enabled = true;
+
+        /** 노드 간 L1 무효화 pub/sub 채널 */
+        private String channel = "cache:inval";
+
+        /** 기본값: 하루 한 번 바뀌는 조석은 길게, 5분짜리 실측값은 짧게 */
+        private Map<String, Tier> prefixes = new LinkedHashMap<>(Map.of(
+                "tide7d",    new Tier(2000, Duration.ofHours(1)),
+                "tide1d",    new Tier(5000, Duration.ofHours(1)),
+                "point",     new Tier(2000, Duration.ofMinutes(30)),
+                "forecast",  new Tier(2000, Duration.ofMinutes(2)),
+                "air",       new Tier(2000, Duration.ofMinutes(5)),
+                "temp",      new Tier(5000, Duration.ofMinutes(1)),
+                "tempAll",   new Tier(2000, Duration.ofMinutes(1)),
+                "current1h", new Tier(2000, Duration.ofMinutes(1)),
+                "current6h", new Tier(2000, Duration.ofMinutes(1)),
+                "plan",      new Tier(5000, Duration.ofMinutes(10))   // 셀 알림 계획 (/locate 마다 조회)
+        ));
+
+        // --- getters/setters ---
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getChannel() { return channel; }
+        public void setChannel(String channel) { this.channel = channel; }
+
+        public Map<String, Tier> getPrefixes() { return prefixes; }
+        public void setPrefixes(Map<String, Tier> prefixes) { this.prefixes = prefixes; }
+    }
+
+    /** Redis 값 포맷 */
+    public enum Format {
+        JSON,   // 기존 포맷 (redis-cli 로 바로 읽힘)
+        SMILE   // Jackson 바이너리 JSON (필드명 back-reference, 숫자 바이너리) → 작고 파싱 빠름
+    }
+
+    /** Redis 저장 포맷 설정 */
+    public static class Codec {
+        /**
+         * 바이너리(헤더 + JSON/Smile + LZ4) 포맷으로 쓸지 여부. soft 만료 시각(SWR)은 이 헤더에만 실리므로
+         * 끄면 soft/hard 정책이 hard TTL 하나로 동작한다 (SWR 꺼짐).
+         * 예전 노드(평문 JSON 만 읽음)가 섞인 롤링 배포 순서:
+         *   1) cache.codec.binary-write=false 로 새 버전을 전 노드에 배포 (새 노드는 두 포맷 다 읽음)
+         *   2) 설정을 지우고(기본값 true) 다시 배포
+         */
+        private boolean binaryWrite = true;
+
+        /** prefixes 에 없는 키의 포맷 */
+        private Format defaultFormat = Format.JSON;
+
+        /** 이 바이트 수 이상이면 LZ4 압축 (0 이하 = 압축 안 함) */
+        private int compressThreshold = 512;
+
+        /** 기본값: 큰 목록/중첩 맵 payload 만 바이너리 */
+        private Map<String, Format> prefixes = new LinkedHashMap<>(Map.of(
+                "tide7d",    Format.SMILE,
+                "tide1d",    Format.SMILE,
+                "point",     Format.SMILE,
+                "current6h", Format.SMILE,
+                "forecast",  Format.SMILE,
+                "tempAll",   Format.SMILE
+        ));
+
+        // --- getters/setters ---
+        public boolean isBinaryWrite() { return binaryWrite; }
+        public void setBinaryWrite(boolean binaryWrite) { this.binaryWrite = binaryWrite; }
+
+        public Format getDefaultFormat() { return defaultFormat; }
+        public void setDefaultFormat(Format defaultFormat) { this.defaultFormat = defaultFormat; }
+
+        public int getCompressThreshold() { return compressThreshold; }
+        public void setCompressThreshold(int compressThreshold) { this.compressThreshold = compressThreshold; }
+
+        public Map<String, Format> getPrefixes() { return prefixes; }
+        public void setPrefixes(Map<String, Format> prefixes) { this.prefixes = prefixes; }
+    }
+
+    /** 인기 셀 선로딩 (HotKeyTracker + CachePrefetcher) */
+    public static class Prefetch {
+        private boolean enabled = true;
+
+        /** 종류(tide/temp/forecast)별 선로딩할 상위 셀 수 */
+        private int topN = 300;
+
+        /** 한 번 돌 때 원본 API 최대 호출 수 (전체 종류 합) */
+        private int budget = 1000;
+
+        /** 원본 API 초당 호출 상한 */
+        private int ratePerSec = 10;
+
+        /** Redis TTL 이 이보다 적게 남은 인기 키는 미리 갱신 */
+        private Duration ttlLead = Duration.ofMinutes(2);
+
+        /** Count-Min sketch 폭(2의 거듭제곱으로 올림) / 깊이 */
+        private int sketchWidth = 1 << 14;
+        private int sketchDepth = 4;
+
+        // --- getters/setters ---
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getTopN() { return topN; }
+        public void setTopN(int topN) { this.topN = topN; }
+
+        public int getBudget() { return budget; }
+        public void setBudget(int budget) { this.budget = budget; }
+
+        public int getRatePerSec() { return ratePerSec; }
+        public void setRatePerSec(int ratePerSec) { this.ratePerSec = ratePerSec; }
+
+        public Duration getTtlLead() { return ttlLead; }
+        public void setTtlLead(Duration ttlLead) { this.ttlLead = ttlLead; }
+
+        public int getSketchWidth() { return sketchWidth; }
+        public void setSketchWidth(int sketchWidth) { this.sketchWidth = sketchWidth; }
+
+        public int getSketchDepth() { return sketchDepth; }
+        public void setSketchDepth(int sketchDepth) { this.sketchDepth = sketchDepth; }
+    }
+
+    private Near near = new Near();
+    private Codec codec = new Codec();
+    private Prefetch prefetch = new Prefetch();
+
+    // --- getters/setters ---
+    public Near getNear() { return near; }
+    public void setNear(Near near) { this.near = near; }
+
+    public Codec getCodec() { return codec; }
+    public void setCodec(Codec codec) { this.codec = codec; }
+
+    public Prefetch getPrefetch() { return prefetch; }
+    public void setPrefetch(Prefetch prefetch) { this.prefetch = prefetch; }
+}
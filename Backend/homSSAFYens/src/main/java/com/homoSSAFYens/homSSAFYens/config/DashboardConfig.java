@@ -0,0 +1,44 @@
+package com.homoSSAFYens.homSSAFYens.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 대시보드 fan-out 설정
+ * - 캐시 미스 소스마다 원본 호출 1건씩 병렬로. 대부분 WebClient.block() 대기라 스레드는 넉넉히
+ * - 큐가 차면 거절 → 그 소스만 status=error 로 응답 (요청 스레드가 timeout 없이 원본을 직접 부르지 않게)
+ * - 가상 스레드 모드: 호출마다 가상 스레드, 동시 호출 상한을 넘으면 기다리지 않고 거절
+ */
+@Configuration
+public class DashboardConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor dashboardExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(12);
+        ex.setMaxPoolSize(48);
+        ex.setQueueCapacity(200);
+        ex.setThreadNamePrefix("dashboard-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return ex;
+    }
+
+    @Bean(name = "dashboardExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor dashboardVirtualExecutor(
+            @Value("${dashboard.virtual-concurrency:256}") int concurrency) {
+        SimpleAsyncTaskExecutor ex = new SimpleAsyncTaskExecutor("dashboard-");
+        ex.setVirtualThreads(true);
+        ex.setConcurrencyLimit(concurrency);
+        ex.setRejectTasksWhenLimitReached(true);
+        return ex;
+    }
+}
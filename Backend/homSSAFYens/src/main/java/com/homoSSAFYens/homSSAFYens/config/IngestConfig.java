@@ -0,0 +1,30 @@
+package com.homoSSAFYens.homSSAFYens.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 대량 적재 설정
+ * - MySQL 드라이버는 rewriteBatchedStatements=true 여야 JDBC 배치를 multi-row INSERT 로 묶어 보냄
+ *   (없으면 배치여도 행마다 왕복) → 풀 시작 전에 드라이버 속성으로 넣는다
+ * - URL 에 이미 지정돼 있으면 URL 값이 우선
+ */
+@Configuration
+public class IngestConfig {
+
+    @Bean
+    public static BeanPostProcessor mysqlBatchRewritePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource ds
+                        && ds.getJdbcUrl() != null && ds.getJdbcUrl().startsWith("jdbc:mysql:")) {
+                    ds.getDataSourceProperties().putIfAbsent("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.homoSSAFYens.homSSAFYens.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 알림 발송 설정
+ * - FCM 묶음(sendEach) 전송용 작은 풀. 큐가 차면 디스패처 스레드가 직접 보내며 속도를 늦춘다(CallerRuns)
+ * - 가상 스레드 모드: 묶음마다 가상 스레드, 동시 전송 상한에서 디스패처가 기다림 (같은 backpressure)
+ */
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor fcmDispatchExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(2);
+        ex.setMaxPoolSize(4);
+        ex.setQueueCapacity(50);
+        ex.setThreadNamePrefix("fcm-dispatch-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return ex;
+    }
+
+    @Bean(name = "fcmDispatchExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor fcmDispatchVirtualExecutor(
+            @Value("${fcm.dispatch.virtual-concurrency:8}") int concurrency) {
+        SimpleAsyncTaskExecutor ex = new SimpleAsyncTaskExecutor("fcm-dispatch-");
+        ex.setVirtualThreads(true);
+        ex.setConcurrencyLimit(concurrency);
+        return ex;
+    }
+}
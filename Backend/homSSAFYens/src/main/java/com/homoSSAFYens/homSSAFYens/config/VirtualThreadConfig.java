@@ -0,0 +1,42 @@
+package com.homoSSAFYens.homSSAFYens.config;
+
+import com.homoSSAFYens.homSSAFYens.quartz.VirtualThreadPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * 가상 스레드 모드 (Java 21+ 에서 spring.threads.virtual.enabled=true)
+ * - 서블릿(Tomcat 요청 스레드), applicationTaskExecutor, @Scheduled 스케줄러는 Spring Boot 가 바꿔 줌
+ * - 여기서는 Boot 가 안 건드리는 것만:
+ *   · Quartz 워커 → VirtualThreadPool (job 마다 가상 스레드, 동시 실행 상한만)
+ *   · fcmDispatchExecutor / cacheRefreshExecutor → NotificationConfig / CacheConfig 의 VIRTUAL 빈
+ * Java 17 이거나 설정이 꺼져 있으면 전부 기존 플랫폼 스레드 풀 그대로
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public SchedulerFactoryBeanCustomizer virtualThreadQuartzPool(
+            QuartzProperties quartz,
+            @Value("${alarm.quartz.max-concurrency:200}") int maxConcurrency) {
+        return factory -> {
+            // Boot 가 넣은 spring.quartz.properties 를 유지한 채 threadPool 만 교체 (setQuartzProperties 는 통째로 덮어씀)
+            Properties p = new Properties();
+            p.putAll(quartz.getProperties());
+            p.setProperty("org.quartz.threadPool.class", VirtualThreadPool.class.getName());
+            p.setProperty("org.quartz.threadPool.maxConcurrency", String.valueOf(maxConcurrency));
+            p.remove("org.quartz.threadPool.threadCount");
+            // 같은 시각 셀 알림을 한 번에 여러 개 가져가도록 (기본 1)
+            p.putIfAbsent("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "50");
+            factory.setQuartzProperties(p);
+        };
+    }
+}
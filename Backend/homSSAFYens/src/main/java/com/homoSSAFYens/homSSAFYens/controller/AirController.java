@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("api/v1/air")
@@ -27,8 +28,8 @@ public class AirController {
     }
 
     @GetMapping("/fine_dust")
-    public ApiResponse<FineDustResponse> fineDust(@RequestParam double lat, @RequestParam double lon) {
-        return ApiResponse.success(null, airService.getAirInfo(lat, lon));
+    public Mono<ApiResponse<FineDustResponse>> fineDust(@RequestParam double lat, @RequestParam double lon) {
+        return ApiResponse.successMono(null, airService.getAirInfoMono(lat, lon));
     }
 
     @GetMapping("/test")
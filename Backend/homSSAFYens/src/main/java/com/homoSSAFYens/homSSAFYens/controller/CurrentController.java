@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -32,12 +33,12 @@ public class CurrentController {
     }
 
     @GetMapping("/weather")
-    public ApiResponse<CurrentResponse> weather(@RequestParam double lat, @RequestParam double lon) {
-        return ApiResponse.success(null, currentService.getCurrentInfo(lat, lon));
+    public Mono<ApiResponse<CurrentResponse>> weather(@RequestParam double lat, @RequestParam double lon) {
+        return ApiResponse.successMono(null, currentService.getCurrentInfoMono(lat, lon));
     }
 
     @GetMapping("/weather/6hour")
-    public ApiResponse<CurrentResponse> weatherFor6hour(@RequestParam double lat, @RequestParam double lon) {
-        return ApiResponse.success(null, currentService.getCurrentListInfo(lat, lon));
+    public Mono<ApiResponse<CurrentResponse>> weatherFor6hour(@RequestParam double lat, @RequestParam double lon) {
+        return ApiResponse.successMono(null, currentService.getCurrentListInfoMono(lat, lon));
     }
 }
@@ -0,0 +1,68 @@
+package com.homoSSAFYens.homSSAFYens.controller;
+
+import com.homoSSAFYens.homSSAFYens.common.ApiResponse;
+import com.homoSSAFYens.homSSAFYens.common.ResponseCode;
+import com.homoSSAFYens.homSSAFYens.service.DangerZoneIngestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/danger-zone/admin")
+@RequiredArgsConstructor
+public class DangerZoneAdminController {
+
+    private final DangerZoneIngestService ingestService;
+
+    /** 적재 파일을 두는 서버 로컬 디렉터리 (이 밖의 경로는 거부) */
+    @Value("${danger-zone.ingest.dir:./data/danger-zone}")
+    private String ingestDir;
+
+    /** 관리자 토큰 (X-Admin-Token 헤더와 비교). 비어 있으면 적재 API 자체가 꺼짐 */
+    @Value("${danger-zone.ingest.admin-token:}")
+    private String adminToken;
+
+    /** 예보 파일(CSV/JSON) 적재: file = ingestDir 안의 파일 이름. 날짜별 DELETE + 교체라 관리자만 */
+    @PostMapping("/ingest")
+    public ResponseEntity<ApiResponse<DangerZoneIngestService.Result>> ingest(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestParam String file) throws IOException {
+        if (!isAdmin(token)) {
+            log.warn("/danger-zone/admin/ingest denied file={}", file);
+            return ResponseEntity.status(ResponseCode.FORBIDDEN.getHttpStatus())
+                    .body(ApiResponse.error(ResponseCode.FORBIDDEN, ResponseCode.FORBIDDEN.getDefaultMessage()));
+        }
+        Path dir = Path.of(ingestDir).toAbsolutePath().normalize();
+        Path path = dir.resolve(file).normalize();
+        if (!path.startsWith(dir) || !Files.isRegularFile(path)) {
+            return ResponseEntity.status(ResponseCode.BAD_REQUEST.getHttpStatus())
+                    .body(ApiResponse.error(ResponseCode.BAD_REQUEST, "적재할 파일이 없습니다: " + file));
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success(null, ingestService.ingest(path)));
+        } catch (IllegalStateException e) {
+            log.warn("/danger-zone/admin/ingest rejected file={} : {}", file, e.getMessage());
+            return ResponseEntity.status(ResponseCode.BAD_REQUEST.getHttpStatus())
+                    .body(ApiResponse.error(ResponseCode.BAD_REQUEST, "이미 적재 중입니다."));
+        }
+    }
+
+    /** 상수 시간 비교 (토큰 길이/내용을 응답 시간으로 못 알아내게) */
+    private boolean isAdmin(String token) {
+        if (adminToken == null || adminToken.isBlank() || token == null) return false;
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
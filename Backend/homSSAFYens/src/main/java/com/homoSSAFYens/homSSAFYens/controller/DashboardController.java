@@ -0,0 +1,26 @@
+package com.homoSSAFYens.homSSAFYens.controller;
+
+import com.homoSSAFYens.homSSAFYens.common.ApiResponse;
+import com.homoSSAFYens.homSSAFYens.dto.MarineDashboardResponse;
+import com.homoSSAFYens.homSSAFYens.service.MarineDashboardService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("api/v1/dashboard")
+public class DashboardController {
+
+    private final MarineDashboardService marineDashboardService;
+
+    public DashboardController(MarineDashboardService marineDashboardService) {
+        this.marineDashboardService = marineDashboardService;
+    }
+
+    /** 조석/수온/날씨/예보/미세먼지/포인트 한 번에 (느린 소스는 null + status 로 표시) */
+    @GetMapping
+    public ApiResponse<MarineDashboardResponse> dashboard(@RequestParam double lat, @RequestParam double lon) {
+        return ApiResponse.success(null, marineDashboardService.get(lat, lon));
+    }
+}
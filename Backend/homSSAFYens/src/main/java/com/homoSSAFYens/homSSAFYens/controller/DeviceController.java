@@ -6,6 +6,7 @@ import com.homoSSAFYens.homSSAFYens.common.ApiResponse;
 import com.homoSSAFYens.homSSAFYens.common.GeoKeyUtil;
 import com.homoSSAFYens.homSSAFYens.dto.LocateReq;
 import com.homoSSAFYens.homSSAFYens.dto.RegisterReq;
+import com.homoSSAFYens.homSSAFYens.service.CellPlanService;
 import com.homoSSAFYens.homSSAFYens.service.DeviceService;
 import com.homoSSAFYens.homSSAFYens.service.ScheduleService;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/device")
@@ -23,6 +26,7 @@ public class DeviceController {
 
     private final DeviceService deviceService;
     private final ScheduleService scheduleService;
+    private final CellPlanService cellPlanService;
 
     @PostMapping("/register")
     public ApiResponse<String> register(@RequestBody RegisterReq req) {
@@ -34,12 +38,26 @@ public class DeviceController {
     @PostMapping("/locate")
     public ApiResponse<String> locate(@RequestBody LocateReq req) {
         String g = GeoKeyUtil.geoKey(req.lat(), req.lon(), 3);
-        deviceService.updateLastLocation(req.deviceId(), g, req.lat(), req.lon(), req.ts());
-        log.info("/locate deviceId={} lat={} lon={} ts={}", req.deviceId(), req.lat() , req.lon(), req.ts());
 
         // 현재 시간 초단위로 변환
         long now = java.time.Instant.now().getEpochSecond();
-        scheduleService.scheduleFor(req.deviceId(), g, now, req.lat(), req.lon());
+
+        // 앞으로 도래할 셀 만조 계획 (셀/날짜 단위 캐시, L1 히트면 Redis 안 감)
+        List<CellPlanService.HighPlan> highs = cellPlanService.upcoming(g, now, req.lat(), req.lon());
+
+        // 같은 격자 + 같은 계획(만조·오프셋) + 같은 디바이스 오프셋이면 예약 결과가 같음 → 재예약 생략
+        DeviceService.PlanCheck plan = deviceService.checkPlan(req.deviceId(), g, highs);
+        deviceService.updateLastLocation(req.deviceId(), g, req.lat(), req.lon(), req.ts());
+        log.info("/locate deviceId={} lat={} lon={} ts={}", req.deviceId(), req.lat() , req.lon(), req.ts());
+
+        if (plan.unchanged()) {
+            log.debug("/locate plan unchanged deviceId={} fp={}", req.deviceId(), plan.fingerprint());
+            return ApiResponse.success(null, "성공");
+        }
+
+        if (scheduleService.scheduleFor(req.deviceId(), g, now, highs)) {
+            deviceService.markPlanned(req.deviceId(), plan.fingerprint());
+        }
 
         return ApiResponse.success(null, "성공");
     }
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -26,8 +27,8 @@ public class ForecastController {
 
 
     @GetMapping("/7days")
-    public ApiResponse<ForecastResponse> getForecast(@RequestParam double lat, @RequestParam double lon) {
-        return ApiResponse.success(null, forecastService.getForecastInfo(lat, lon));
+    public Mono<ApiResponse<ForecastResponse>> getForecast(@RequestParam double lat, @RequestParam double lon) {
+        return ApiResponse.successMono(null, forecastService.getForecastInfoMono(lat, lon));
     }
 
     @GetMapping("/test")
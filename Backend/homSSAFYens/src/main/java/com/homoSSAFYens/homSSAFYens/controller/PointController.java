@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("api/v1/point")
@@ -22,8 +23,8 @@ public class PointController {
     }
 
     @GetMapping("/list")
-    public ApiResponse<PointResponse> getPoint(@RequestParam double lat, @RequestParam double lon) {
-        return ApiResponse.success(null, pointService.getPointList(lat, lon));
+    public Mono<ApiResponse<PointResponse>> getPoint(@RequestParam double lat, @RequestParam double lon) {
+        return ApiResponse.successMono(null, pointService.getPointListMono(lat, lon));
     }
 
     @GetMapping("/test")
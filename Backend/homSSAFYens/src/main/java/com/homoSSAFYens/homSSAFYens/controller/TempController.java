@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -24,13 +25,13 @@ public class TempController {
     }
 
     @GetMapping("/nearest")
-    public ApiResponse<TempInfo> nearestTemp(@RequestParam("lat") double lat, @RequestParam("lon") double lon) {
-        return ApiResponse.success(null,  tempService.getTempInfo(lat, lon));
+    public Mono<ApiResponse<TempInfo>> nearestTemp(@RequestParam("lat") double lat, @RequestParam("lon") double lon) {
+        return ApiResponse.successMono(null,  tempService.getTempInfoMono(lat, lon));
     }
 
     @GetMapping("/all")
-    public ApiResponse<List<TempInfo>> tempAll(@RequestParam("lat") double lat, @RequestParam("lon") double lon) {
-        return ApiResponse.success(null,  tempService.getTempList(lat, lon));
+    public Mono<ApiResponse<List<TempInfo>>> tempAll(@RequestParam("lat") double lat, @RequestParam("lon") double lon) {
+        return ApiResponse.successMono(null,  tempService.getTempListMono(lat, lon));
     }
 
 
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -33,13 +34,13 @@ public class TideController {
 
     /** 7일치 전체 조회 */
     @GetMapping("/weekly")
-    public ApiResponse<List<TideDailyInfo>> weekly(@RequestParam Double lat, @RequestParam Double lon) {
-        return ApiResponse.success(null, tideService.getWeekly(lat, lon));
+    public Mono<ApiResponse<List<TideDailyInfo>>> weekly(@RequestParam Double lat, @RequestParam Double lon) {
+        return ApiResponse.successMono(null, tideService.getWeeklyMono(lat, lon));
     }
 
     /** 하루치 조회 */
     @GetMapping("/today")
-    public ApiResponse<TideDailyInfo> today(@RequestParam Double lat, @RequestParam Double lon) {
-        return ApiResponse.success(null, tideService.getDaily(lat, lon));
+    public Mono<ApiResponse<TideDailyInfo>> today(@RequestParam Double lat, @RequestParam Double lon) {
+        return ApiResponse.successMono(null, tideService.getDailyMono(lat, lon));
     }
 }
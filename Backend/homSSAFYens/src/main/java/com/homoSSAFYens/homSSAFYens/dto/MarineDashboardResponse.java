@@ -0,0 +1,19 @@
+package com.homoSSAFYens.homSSAFYens.dto;
+
+import java.util.Map;
+
+/**
+ * 해양 대시보드 묶음 응답
+ * - 소스별 값은 늦거나 실패하면 null (부분 응답)
+ * - status: 소스 → hit(캐시) / loaded(원본 호출) / timeout / error / empty
+ */
+public record MarineDashboardResponse(
+        TideDailyInfo tide,
+        TempInfo temp,
+        CurrentResponse current,
+        ForecastResponse forecast,
+        FineDustResponse air,
+        PointResponse point,
+        Map<String, String> status
+) {
+}
@@ -0,0 +1,29 @@
+package com.homoSSAFYens.homSSAFYens.dto;
+
+/**
+ * 셀 단위 예약 알림 1건 = (geoKey, tideTs, offset)
+ * - triggerAt = tideTs + offset 분 (epoch sec)
+ * - eventId 는 클라 중복 제거용 (셀 알림 해시)
+ * - 같은 셀/만조/오프셋을 원하는 디바이스들은 구독 SET 으로 묶여 한 번에 발송된다
+ */
+public record TideAlert(
+        String geoKey,
+        long tideTs,
+        int offset,
+        long triggerAt,
+        String eventId,
+        String locationName
+) {
+
+    /** 엔진/구독 SET 에서 쓰는 식별자: geoKey|tideTs|offset */
+    public String id() {
+        return geoKey + "|" + tideTs + "|" + offset;
+    }
+
+    /** id 에서 발송 시각 복원 (tideTs + offset 분) */
+    public static long triggerAtOf(String id) {
+        int b = id.lastIndexOf('|');
+        int a = id.lastIndexOf('|', b - 1);
+        return Long.parseLong(id.substring(a + 1, b)) + Integer.parseInt(id.substring(b + 1)) * 60L;
+    }
+}
@@ -0,0 +1,58 @@
+package com.homoSSAFYens.homSSAFYens.quartz;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 셀 fan-out 이전의 디바이스별 Quartz job(그룹 = deviceId, JobDataMap 에 deviceId) 1회 정리
+ * - 지금 job 은 그룹 = geoKey 이고 deviceId 를 들고 있지 않으므로 deviceId 가 있으면 옛 job
+ * - 옛 job 이 울리면 구독 SET 키가 맞지 않아 아무에게도 안 가고 Quartz 테이블만 차지함
+ * - 클러스터 중 한 노드만, 한 번만 (Redis 표시 키 SET NX)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "alarm.quartz.legacy-cleanup", havingValue = "true", matchIfMissing = true)
+public class LegacyDeviceJobCleanup {
+
+    private static final String DONE_KEY = "alarm:legacy-device-jobs:cleaned";
+
+    private final Scheduler scheduler;
+    private final StringRedisTemplate redis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cleanup() {
+        try {
+            if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(DONE_KEY, String.valueOf(System.currentTimeMillis())))) {
+                return; // 이미 정리됨 (또는 다른 노드가 정리 중)
+            }
+
+            List<JobKey> legacy = new ArrayList<>();
+            for (String group : scheduler.getJobGroupNames()) {
+                for (JobKey jk : scheduler.getJobKeys(GroupMatcher.jobGroupEquals(group))) {
+                    JobDetail job = scheduler.getJobDetail(jk);
+                    if (job != null && job.getJobDataMap().containsKey("deviceId")) legacy.add(jk);
+                }
+            }
+            if (!legacy.isEmpty()) scheduler.deleteJobs(legacy);
+            log.info("legacy per-device quartz jobs removed: {}", legacy.size());
+
+        } catch (Exception e) {
+            // 다음 기동 때 다시 시도
+            redis.delete(DONE_KEY);
+            log.warn("legacy per-device quartz job cleanup failed", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.homoSSAFYens.homSSAFYens.quartz;
+
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Quartz 워커를 job 마다 가상 스레드로 (Java 21+, spring.threads.virtual.enabled=true 일 때 VirtualThreadConfig 가 등록)
+ * - 고정 워커 10개(SimpleThreadPool) 대신 동시 실행 상한(maxConcurrency)만 둔다
+ *   → 발송 job 이 I/O 로 막혀도 캐리어 스레드는 놀지 않고, 같은 시각에 몰린 셀 알림이 줄 서지 않음
+ * - blockForAvailableThreads: 남은 자리 수 → batchTriggerAcquisitionMaxCount 만큼 한 번에 가져갈 수 있음
+ *
+ * 설정: org.quartz.threadPool.maxConcurrency (Quartz 가 setter 로 주입)
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    private int maxConcurrency = 200;
+    private String instanceName = "quartz";
+
+    private Semaphore permits;
+    private ThreadFactory factory;
+    private volatile boolean shutdown;
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (maxConcurrency <= 0) throw new SchedulerConfigException("maxConcurrency must be > 0");
+        try {
+            factory = new VirtualThreadTaskExecutor(instanceName + "-vt-").getVirtualThreadFactory();
+        } catch (UnsupportedOperationException e) {
+            throw new SchedulerConfigException("virtual threads need Java 21+", e);
+        }
+        permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null || shutdown) return false;
+        permits.acquireUninterruptibly();
+        try {
+            factory.newThread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    permits.release();
+                }
+            }).start();
+            return true;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** 자리가 하나라도 날 때까지 기다렸다가 남은 자리 수 반환 */
+    @Override
+    public int blockForAvailableThreads() {
+        if (shutdown) return 0;
+        permits.acquireUninterruptibly();
+        permits.release();
+        return Math.max(1, permits.availablePermits());
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        shutdown = true;
+        if (waitForJobsToComplete && permits != null) {
+            permits.acquireUninterruptibly(maxConcurrency);
+            permits.release(maxConcurrency);
+        }
+    }
+
+    @Override
+    public int getPoolSize() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {}
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+}
@@ -10,17 +10,23 @@ import java.util.List;
 
 public interface DangerZoneRepo extends Repository<DangerZone, Long> {
 
+    /** 정점별 시간 예보 행 (캐시 적재용) */
+    interface SpeedRow {
+        String getStaNm();
+        Double getStaLa();
+        Double getStaLo();
+        LocalDateTime getYmdh();
+        java.math.BigDecimal getSpeed();
+    }
+
+    /** 하루치 전 정점 예보를 한 번에 (ymdh 범위 스캔만, 거리 계산 없음 / 인덱스: db/danger_zone_index.sql) */
     @Query(value = """
-        SELECT tdlv_rsng_ve
+        SELECT sta_nm AS staNm, sta_la AS staLa, sta_lo AS staLo, ymdh AS ymdh, tdlv_rsng_ve AS speed
         FROM danger_zone
-        WHERE ymdh BETWEEN :from AND :to
-          AND ST_Distance_Sphere(POINT(sta_lo, sta_la), POINT(:lon, :lat)) <= :radiusMeters
+        WHERE ymdh >= :from AND ymdh < :to
         ORDER BY ymdh
         """, nativeQuery = true)
-    List<java.math.BigDecimal> findSpeedsInRadiusBetween(
-            @Param("lat") double lat,
-            @Param("lon") double lon,
-            @Param("radiusMeters") double radiusMeters,
+    List<SpeedRow> findAllSpeedsBetween(
             @Param("from") LocalDateTime from,
             @Param("to") LocalDateTime to
     );
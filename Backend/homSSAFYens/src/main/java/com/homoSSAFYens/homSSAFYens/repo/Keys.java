@@ -4,4 +4,6 @@ public interface Keys {
     static String device(String id) { return "device:" + id; }     // HASH
     static String tide7d(String geoKey) { return "tide7d:" + geoKey; } // (다음 단계에서 사용)
     static String tide1d(String geoKey) { return "tide1d:" + geoKey; } // (다음 단계에서 사용)
+    static String cellSubs(String alertId) { return "cell:subs:" + alertId; }   // SET 셀 알림을 받을 deviceId
+    static String deviceCells(String id) { return "cell:dev:" + id; }           // SET 디바이스가 구독 중인 셀 알림 id
 }
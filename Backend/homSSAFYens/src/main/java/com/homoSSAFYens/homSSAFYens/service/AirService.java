@@ -7,6 +7,7 @@ import com.homoSSAFYens.homSSAFYens.common.GeoKeyUtil;
 import com.homoSSAFYens.homSSAFYens.dto.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -22,6 +23,7 @@ public class AirService {
 
     private static final int GEO_DECIMALS = 3; // ≈110m
     private static final Duration TTL = Duration.ofMinutes(30);
+    private static final CachePolicy POLICY = CachePolicy.of(TTL, Duration.ofMinutes(90)); // 30m 지나면 stale 반환 + 뒤에서 갱신 (3단 체인 지연 숨김)
 
 
     public AirService(AirApiClient airApiClient ,
@@ -34,13 +36,30 @@ public class AirService {
 
     }
 
+    public String cacheKey(double lat, double lon) {
+        return "air:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST();
+    }
+
     public FineDustResponse getAirInfo(double lat, double lon) {
 
-        final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
-        final String key = "air:" + geo + ":" + GeoKeyUtil.dayKST();
+        final String key = cacheKey(lat, lon);
+
+        // 캐시 미스 시 3단 체인(SGIS → 측정소 → 대기질)은 키당 1번만 탄다
+        return cacheService.getOrLoad(key, FineDustResponse.class, POLICY, () -> loadAirInfo(lat, lon));
+    }
+
+    /** getAirInfo 논블로킹 버전: 3단 체인을 Mono 로 이어서 응답 기다리는 동안 스레드를 잡지 않음 */
+    public Mono<FineDustResponse> getAirInfoMono(double lat, double lon) {
+        return cacheService.getOrLoadMono(cacheKey(lat, lon), FineDustResponse.class, POLICY,
+                () -> sgisApiClient.getSgisRgeocodeMono(lat, lon)
+                        .flatMap(t -> airApiClient.getNearestStationMono(t.getResult().getPosX(), t.getResult().getPosY()))
+                        .map(this::nearestStationName)
+                        .flatMap(stationName -> airApiClient.getAirInfoMono(stationName, "Daily", 100, 1)
+                                .map(res -> latestOf(res, stationName))),
+                v -> true);
+    }
 
-        FineDustResponse cached = cacheService.get(key, FineDustResponse.class);
-        if (cached != null) return cached;
+    private FineDustResponse loadAirInfo(double lat, double lon) {
 
         // 1) 좌표 변환 (WGS84 → EPSG:5186 TM)
         SgisTranscoordResponse transcoordRes = sgisApiClient.getSgisRgeocode(lat, lon);
@@ -52,6 +71,18 @@ public class AirService {
 
         // 2) TM 좌표로 가장 가까운 측정소 조회
         StationResponse stationRes = airApiClient.getNearestStation(tmX, tmY);
+        final String stationName = nearestStationName(stationRes);
+
+        // 3) 선택한 측정소명으로 대기질 정보 조회
+        //    dataTerm: Daily(하루), numOfRows: 100, pageNo: 1
+        AirKoreaResponse res = airApiClient.getAirInfo(stationName, "Daily", 100, 1);
+
+        // ── 4) air 캐시 저장은 getOrLoad 가 geoKey 기준으로 처리 ──────────
+        return latestOf(res, stationName);
+    }
+
+    /** 근처 측정소 응답 검증 → tm(거리 km) 최소인 측정소명 */
+    private String nearestStationName(StationResponse stationRes) {
         if (stationRes == null || stationRes.getResponse() == null
                 || stationRes.getResponse().getHeader() == null) {
             throw new IllegalStateException("근처 측정소 조회 응답이 올바르지 않습니다.");
@@ -74,11 +105,11 @@ public class AirService {
                 .min(Comparator.comparingDouble(StationResponse.Item::getTm))
                 .orElseThrow(() -> new IllegalStateException("근처 측정소가 없습니다.(빈 목록)"));
 
-        final String stationName = nearest.getStationName();
+        return nearest.getStationName();
+    }
 
-        // 3) 선택한 측정소명으로 대기질 정보 조회
-        //    dataTerm: Daily(하루), numOfRows: 100, pageNo: 1
-        AirKoreaResponse res = airApiClient.getAirInfo(stationName, "Daily", 100, 1);
+    /** 대기질 응답 검증 → 최신 1건 */
+    private FineDustResponse latestOf(AirKoreaResponse res, String stationName) {
         AirHeader header = res.response().header();
         if (!"00".equals(header.resultCode())) {
             throw new IllegalStateException("AirKorea error: " + header.resultMsg());
@@ -93,12 +124,7 @@ public class AirService {
                 .max(Comparator.comparing(AirItemDto::dataTime)) // "yyyy-MM-dd HH:mm" 문자열 비교로도 정렬 가능
                 .orElse(null);
 
-        FineDustResponse resp = toFineDustResponse(latest, stationName);
-
-        // ── 4) air 캐시 저장 (geoKey 기준) ─────────────────────────────
-        cacheService.set(key, resp, TTL);
-
-        return resp;
+        return toFineDustResponse(latest, stationName);
     }
 
     private FineDustResponse toFineDustResponse(AirItemDto item, String stationName) {
@@ -0,0 +1,23 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import java.time.Duration;
+
+/**
+ * stale-while-revalidate 캐시 정책
+ * - soft: 이 시간이 지나면 '오래된 값'으로 보고, 값은 바로 돌려주면서 백그라운드 갱신 1번 시작
+ * - hard: Redis 실제 TTL. 이 시간이 지나면 진짜 미스 → 동기 로딩
+ *
+ * 예) 조석 6h/12h: 6시간 뒤 첫 요청은 기존 값을 받고, 갱신은 뒤에서 한 번만 돈다
+ */
+public record CachePolicy(Duration soft, Duration hard) {
+
+    public CachePolicy {
+        if (soft == null || hard == null || soft.compareTo(hard) > 0) {
+            throw new IllegalArgumentException("soft TTL must be <= hard TTL: soft=" + soft + ", hard=" + hard);
+        }
+    }
+
+    public static CachePolicy of(Duration soft, Duration hard) {
+        return new CachePolicy(soft, hard);
+    }
+}
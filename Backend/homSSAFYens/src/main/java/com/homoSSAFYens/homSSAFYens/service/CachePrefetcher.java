@@ -0,0 +1,107 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 인기 셀 선로딩
+ * - 자정 전(기본 23:50 KST): 캐시 키에 날짜가 들어가 00:00 에 키 공간이 통째로 바뀜
+ *   → 종류별 상위 topN 셀의 "내일" 키를 미리 채워 아침 첫 요청이 원본으로 몰리지 않게
+ *   → TTL 이 아침까지 가는 종류만 (PrefetchSource.prefetchBeforeMidnight, 지금은 조석)
+ * - 주기적으로(기본 1분): 오늘 키 중 Redis TTL 이 ttlLead 보다 적게 남았거나 없는 인기 키만 다시 채움
+ * - 원본 호출은 한 번 돌 때 budget 개 (종류별로 나눔), 초당 ratePerSec 개까지
+ * - 기본 스케줄러 스레드 1개 → 두 작업은 겹치지 않음
+ */
+@Slf4j
+@Component
+public class CachePrefetcher {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final List<PrefetchSource> sources;
+    private final HotKeyTracker hotKeys;
+    private final StringRedisTemplate redis;
+    private final CacheProperties.Prefetch props;
+
+    public CachePrefetcher(List<PrefetchSource> sources, HotKeyTracker hotKeys,
+                           StringRedisTemplate redis, CacheProperties props) {
+        this.sources = sources;
+        this.hotKeys = hotKeys;
+        this.redis = redis;
+        this.props = props.getPrefetch();
+    }
+
+    @Scheduled(cron = "${cache.prefetch.midnight-cron:0 50 23 * * *}", zone = "Asia/Seoul")
+    public void beforeMidnight() {
+        if (!props.isEnabled()) return;
+        LocalDate tomorrow = LocalDate.now(KST).plusDays(1);
+        for (PrefetchSource src : sources) {
+            if (!src.prefetchBeforeMidnight()) continue;
+            run(src, tomorrow, hotKeys.top(src.kind(), props.getTopN()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.prefetch.check-interval-ms:60000}", initialDelay = 60_000)
+    public void beforeExpiry() {
+        if (!props.isEnabled()) return;
+        LocalDate today = LocalDate.now(KST);
+        long leadMs = props.getTtlLead().toMillis();
+
+        for (PrefetchSource src : sources) {
+            List<HotKeyTracker.Cell> top = hotKeys.top(src.kind(), props.getTopN());
+            if (top.isEmpty()) continue;
+
+            // PTTL 한 번에 (-2 = 없음, -1 = 만료 없음)
+            List<Object> ttls = redis.executePipelined((RedisCallback<Object>) conn -> {
+                StringRedisConnection sc = (StringRedisConnection) conn;
+                for (HotKeyTracker.Cell c : top) sc.pTtl(src.cacheKey(c.lat(), c.lon(), today));
+                return null;
+            });
+
+            List<HotKeyTracker.Cell> due = new ArrayList<>();
+            for (int i = 0; i < top.size(); i++) {
+                long ttl = ttls.get(i) instanceof Long l ? l : -1;
+                if (ttl == -2 || (ttl >= 0 && ttl < leadMs)) due.add(top.get(i));
+            }
+            run(src, today, due);
+        }
+    }
+
+    private void run(PrefetchSource src, LocalDate day, List<HotKeyTracker.Cell> cells) {
+        if (cells.isEmpty()) return;
+        int budget = Math.max(1, props.getBudget() / Math.max(1, sources.size()));
+        long gapMs = 1000L / Math.max(1, props.getRatePerSec());
+
+        long start = System.currentTimeMillis();
+        int calls = 0, ok = 0;
+        for (HotKeyTracker.Cell c : cells) {
+            if (calls >= budget) break;
+            if (calls > 0) {
+                try {
+                    Thread.sleep(gapMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            calls++;
+            try {
+                if (src.prefetch(c.lat(), c.lon(), day)) ok++;
+            } catch (Exception e) {
+                log.debug("prefetch fail kind={} geo={}", src.kind(), c.geoKey(), e);
+            }
+        }
+        log.info("cache prefetch kind={} day={} cells={} calls={} ok={} took={}ms",
+                src.kind(), day, cells.size(), calls, ok, System.currentTimeMillis() - start);
+    }
+}
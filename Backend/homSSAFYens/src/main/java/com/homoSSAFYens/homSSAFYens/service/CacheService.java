@@ -1,47 +1,290 @@
 package com.homoSSAFYens.homSSAFYens.service;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+/**
+ * 2단 캐시: L1(NearCache, 힙) → L2(Redis)
+ * - get: L1 히트면 네트워크/역직렬화 없이 반환, 미스면 Redis 조회 후 L1 적재
+ * - set: Redis 저장 + 내 L1 갱신 + 다른 노드 L1 무효화 발행
+ * - getOrLoad: 미스 시 SingleFlight 로 원본 호출을 클러스터 전체 1번으로 합침
+ * - CachePolicy(soft/hard): soft 지난 값은 바로 반환 + 백그라운드 갱신 1번 (stale-while-revalidate)
+ * - getOrLoadMono: 같은 규칙의 논블로킹 버전 (리액티브 Redis + Mono 로더, L1·저장 포맷 공유)
+ *
+ * 저장 포맷: CacheValueCodec (prefix 별 JSON/Smile + LZ4, 버전 헤더에 soft 만료 시각 포함)
+ *           헤더 없는 예전 텍스트 엔트리("json", "@swr:<softAt>:json")도 그대로 읽힘
+ */
 @Service
 public class CacheService {
 
+    private static final long NO_SOFT = CacheValueCodec.NO_SOFT; // soft 만료 없음
+
+    /** L1 에 넣는 값 + soft 만료 시각 */
+    private record Stamped(Object value, long softAtMillis) {
+        boolean isStale(long nowMillis) { return nowMillis >= softAtMillis; }
+    }
+
     private final StringRedisTemplate redis;
-    private final ObjectMapper om;
+    private final RedisTemplate<String, byte[]> bytes; // 캐시 값 전용 (헤더/포맷은 codec 이 처리)
+    private final ReactiveRedisTemplate<String, byte[]> reactiveBytes;
+    private final ReactiveStringRedisTemplate reactiveRedis;
+    private final CacheValueCodec codec;
+    private final NearCache near;
+    private final SingleFlight singleFlight;
 
-    public CacheService(StringRedisTemplate redis, ObjectMapper om) {
+    public CacheService(StringRedisTemplate redis,
+                        @Qualifier("cacheBytesRedisTemplate") RedisTemplate<String, byte[]> bytes,
+                        @Qualifier("cacheBytesReactiveRedisTemplate") ReactiveRedisTemplate<String, byte[]> reactiveBytes,
+                        ReactiveStringRedisTemplate reactiveRedis,
+                        CacheValueCodec codec,
+                        NearCache near,
+                        SingleFlight singleFlight) {
         this.redis = redis;
-        this.om = om;
+        this.bytes = bytes;
+        this.reactiveBytes = reactiveBytes;
+        this.reactiveRedis = reactiveRedis;
+        this.codec = codec;
+        this.near = near;
+        this.singleFlight = singleFlight;
     }
 
     // 단일 객체
     public <T> T get(String key, Class<T> type) {
-        String json = redis.opsForValue().get(key);
-        if (json == null) return null;
-        try { return om.readValue(json, type); }
-        catch (Exception e) { return null; }
+        Stamped s = lookup(key, type::isInstance, codec.type(type));
+        return s == null ? null : type.cast(s.value());
     }
 
     // 리스트/제네릭 컬렉션 등
+    @SuppressWarnings("unchecked")
     public <T> T get(String key, com.fasterxml.jackson.core.type.TypeReference<T> typeRef) {
-        String json = redis.opsForValue().get(key);
-        if (json == null) return null;
-        try { return om.readValue(json, typeRef); }
-        catch (Exception e) { return null; }
+        // 같은 키는 항상 같은 타입으로 저장/조회함
+        Stamped s = lookup(key, v -> true, codec.type(typeRef));
+        return s == null ? null : (T) s.value();
+    }
+
+    /**
+     * 여러 키 한 번에: L1 → 남은 키는 Redis MGET 1번
+     * @return soft 만료 전인 값만 (키 → 값). 미스/stale/깨진 값은 빠짐 → 호출자가 getOrLoad 경로로 (stale 은 거기서 바로 반환 + 갱신)
+     */
+    public Map<String, Object> getFresh(Map<String, Class<?>> types) {
+        Map<String, Object> out = new HashMap<>();
+        long now = System.currentTimeMillis();
+
+        List<String> remote = new ArrayList<>();
+        for (Map.Entry<String, Class<?>> e : types.entrySet()) {
+            Object l1 = near.get(e.getKey());
+            if (l1 instanceof Stamped s && e.getValue().isInstance(s.value())) {
+                if (!s.isStale(now)) out.put(e.getKey(), s.value());
+            } else {
+                remote.add(e.getKey());
+            }
+        }
+        if (remote.isEmpty()) return out;
+
+        long[] gens = new long[remote.size()];
+        for (int i = 0; i < gens.length; i++) gens[i] = near.generation(remote.get(i));
+        List<byte[]> raws = bytes.opsForValue().multiGet(remote);
+        if (raws == null) return out;
+        for (int i = 0; i < remote.size(); i++) {
+            String key = remote.get(i);
+            byte[] raw = raws.get(i);
+            if (raw == null) continue;
+            try {
+                CacheValueCodec.Decoded d = codec.decode(raw, codec.type(types.get(key)));
+                if (d == null) continue;
+                Stamped s = new Stamped(d.value(), d.softAtMillis());
+                near.put(key, s, gens[i]);
+                if (!s.isStale(now)) out.put(key, s.value());
+            } catch (Exception ignore) {} // "__NULL__" 마커, 깨진 값 등
+        }
+        return out;
+    }
+
+    /** 조회 → 미스면 single-flight 로딩 → null 아니면 저장. soft 지난 값은 반환 + 백그라운드 갱신 */
+    public <T> T getOrLoad(String key, Class<T> type, CachePolicy policy, Supplier<T> loader) {
+        return getOrLoad(key, type, policy, loader, v -> true);
+    }
+
+    /** cacheable: 빈 결과처럼 저장하지 않을 값 거르기 (걸러진 값도 호출자에겐 그대로 반환) */
+    public <T> T getOrLoad(String key, Class<T> type, CachePolicy policy,
+                           Supplier<T> loader, Predicate<? super T> cacheable) {
+        return load(key, type::isInstance, codec.type(type),
+                v -> set(key, v, policy), loader, cacheable);
+    }
+
+    public <T> T getOrLoad(String key, com.fasterxml.jackson.core.type.TypeReference<T> typeRef, CachePolicy policy,
+                           Supplier<T> loader) {
+        return getOrLoad(key, typeRef, policy, loader, v -> true);
+    }
+
+    public <T> T getOrLoad(String key, com.fasterxml.jackson.core.type.TypeReference<T> typeRef, CachePolicy policy,
+                           Supplier<T> loader, Predicate<? super T> cacheable) {
+        return load(key, v -> true, codec.type(typeRef),
+                v -> set(key, v, policy), loader, cacheable);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(String key, Predicate<Object> accepts, JavaType type, Consumer<T> store,
+                       Supplier<T> loader, Predicate<? super T> cacheable) {
+        Stamped hit = lookup(key, accepts, type);
+        if (hit != null) {
+            // soft 만료: 기다리지 않고 기존 값 반환, 갱신은 클러스터에서 한 번만 뒤에서
+            if (hit.isStale(System.currentTimeMillis())) {
+                singleFlight.refreshAsync(key, loader, store, cacheable);
+            }
+            return (T) hit.value();
+        }
+        return singleFlight.load(key, () -> {
+            Stamped again = lookup(key, accepts, type);
+            return again == null ? null : (T) again.value();
+        }, loader, store, cacheable);
+    }
+
+    /** L1 → Redis 순 조회. Redis 히트면 L1 에 적재 */
+    private Stamped lookup(String key, Predicate<Object> accepts, JavaType type) {
+        Object l1 = near.get(key);
+        if (l1 instanceof Stamped s && accepts.test(s.value())) return s;
+
+        long gen = near.generation(key); // 읽는 사이 무효화가 오면 L1 적재 안 함
+        byte[] raw = bytes.opsForValue().get(key);
+        if (raw == null) return null;
+        try {
+            CacheValueCodec.Decoded d = codec.decode(raw, type);
+            if (d == null) return null;
+            Stamped s = new Stamped(d.value(), d.softAtMillis());
+            near.put(key, s, gen);
+            return s;
+        }
+        catch (Exception e) { return null; } // "__NULL__" 마커, 깨진 값 등
+    }
+
+    // ===== 논블로킹 (Mono) =====
+
+    /** get 의 Mono 버전 */
+    public <T> Mono<T> getMono(String key, Class<T> type) {
+        return lookupMono(key, type::isInstance, codec.type(type)).map(s -> type.cast(s.value()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getMono(String key, com.fasterxml.jackson.core.type.TypeReference<T> typeRef) {
+        return lookupMono(key, v -> true, codec.type(typeRef)).map(s -> (T) s.value());
+    }
+
+    /** getOrLoad 의 Mono 버전. 로더도 Mono (구독 전엔 아무것도 안 함) */
+    public <T> Mono<T> getOrLoadMono(String key, Class<T> type, CachePolicy policy,
+                                     Supplier<Mono<T>> loader, Predicate<? super T> cacheable) {
+        return loadMono(key, type::isInstance, codec.type(type), policy, loader, cacheable);
+    }
+
+    public <T> Mono<T> getOrLoadMono(String key, com.fasterxml.jackson.core.type.TypeReference<T> typeRef,
+                                     CachePolicy policy, Supplier<Mono<T>> loader, Predicate<? super T> cacheable) {
+        return loadMono(key, v -> true, codec.type(typeRef), policy, loader, cacheable);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> loadMono(String key, Predicate<Object> accepts, JavaType type, CachePolicy policy,
+                                 Supplier<Mono<T>> loader, Predicate<? super T> cacheable) {
+        Function<T, Mono<Void>> store = v -> setMono(key, v, policy);
+        return lookupMono(key, accepts, type)
+                .map(hit -> {
+                    // soft 만료: 기다리지 않고 기존 값 반환, 갱신은 클러스터에서 한 번만 뒤에서
+                    if (hit.isStale(System.currentTimeMillis())) {
+                        singleFlight.refreshMono(key, loader, store, cacheable);
+                    }
+                    return (T) hit.value();
+                })
+                .switchIfEmpty(Mono.defer(() -> singleFlight.loadMono(key,
+                        () -> lookupMono(key, accepts, type).map(s -> (T) s.value()),
+                        loader, store, cacheable)));
+    }
+
+    /** lookup 의 Mono 버전 (L1 히트면 Redis 안 감) */
+    private Mono<Stamped> lookupMono(String key, Predicate<Object> accepts, JavaType type) {
+        return Mono.defer(() -> {
+            Object l1 = near.get(key);
+            if (l1 instanceof Stamped s && accepts.test(s.value())) return Mono.just(s);
+
+            long gen = near.generation(key);
+            return reactiveBytes.opsForValue().get(key)
+                    .<Stamped>handle((raw, sink) -> {
+                        try {
+                            CacheValueCodec.Decoded d = codec.decode(raw, type);
+                            if (d == null) return;
+                            Stamped s = new Stamped(d.value(), d.softAtMillis());
+                            near.put(key, s, gen);
+                            sink.next(s);
+                        } catch (Exception ignore) {} // "__NULL__" 마커, 깨진 값 등
+                    });
+        });
+    }
+
+    /** set(key, value, policy) 의 Mono 버전 (저장 실패는 삼킴 — 값은 호출자에게 그대로 감) */
+    public Mono<Void> setMono(String key, Object value, CachePolicy policy) {
+        return Mono.defer(() -> {
+            Duration hard = jitter(policy.hard());
+            long softAt = System.currentTimeMillis() + jitter(policy.soft()).toMillis();
+            byte[] raw;
+            try {
+                raw = codec.encode(key, value, softAt);
+            } catch (Exception e) {
+                return Mono.empty();
+            }
+            String msg = near.invalidationMessage(key);
+            long gen = near.generation(key);
+            return reactiveBytes.opsForValue().set(key, raw, hard)
+                    .doOnSuccess(ok -> near.put(key, new Stamped(value, softAt), hard, gen))
+                    .then(msg == null ? Mono.empty() : reactiveRedis.convertAndSend(near.getChannel(), msg).then())
+                    .onErrorResume(e -> Mono.empty());
+        });
+    }
+
+    /** isNull 의 Mono 버전 */
+    public Mono<Boolean> isNullMono(String key) {
+        return reactiveRedis.opsForValue().get(key)
+                .map("__NULL__"::equals)
+                .defaultIfEmpty(false);
     }
 
     // 저장 (+5% 지터)
     public void set(String key, Object value, Duration ttl) {
         try {
-            String json = om.writeValueAsString(value);
-            redis.opsForValue().set(key, json, jitter(ttl));
+            Duration jittered = jitter(ttl);
+            long gen = near.generation(key);
+            bytes.opsForValue().set(key, codec.encode(key, value, NO_SOFT), jittered);
+            near.put(key, new Stamped(value, NO_SOFT), jittered, gen);
+            near.publishInvalidation(key);
+        } catch (Exception ignore) {}
+    }
+
+    /** soft/hard 저장: Redis TTL = hard, soft 만료 시각은 값 헤더에 (둘 다 +5% 지터) */
+    public void set(String key, Object value, CachePolicy policy) {
+        try {
+            Duration hard = jitter(policy.hard());
+            long softAt = System.currentTimeMillis() + jitter(policy.soft()).toMillis();
+            long gen = near.generation(key);
+            bytes.opsForValue().set(key, codec.encode(key, value, softAt), hard);
+            near.put(key, new Stamped(value, softAt), hard, gen);
+            near.publishInvalidation(key);
         } catch (Exception ignore) {}
     }
 
@@ -57,13 +300,15 @@ public class CacheService {
     /** 빈 결과(없음)도 잠깐 캐시해 요청 폭주 방지 */
     public void setNull(String key, Duration ttl) {
         redis.opsForValue().set(key, "__NULL__", ttl);
+        near.invalidateLocal(key);
+        near.publishInvalidation(key);
     }
     public boolean isNull(String key) {
         String v = redis.opsForValue().get(key);
         return "__NULL__".equals(v);
     }
 
-    /** 간단 락 (5초 등 짧게) */
+    /** 간단 락 (5초 등 짧게) — 대기/알림이 필요하면 getOrLoad 사용 */
     public boolean tryLock(String key, Duration hold) {
         String lockKey = "lock:" + key;
         Boolean ok = redis.opsForValue().setIfAbsent(lockKey, "1", hold);
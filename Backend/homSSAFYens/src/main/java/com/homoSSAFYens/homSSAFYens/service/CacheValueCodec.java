@@ -0,0 +1,145 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.homoSSAFYens.homSSAFYens.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Redis 캐시 값 인코딩/디코딩 (prefix 별 JSON / Smile + 선택적 LZ4)
+ *
+ * 바이너리 레이아웃 (v1)
+ *   [0] MAGIC 0xC5   ← JSON 텍스트('{', '[', '"', '@', '_' ...)와 겹치지 않는 바이트
+ *   [1] VERSION 1
+ *   [2] format id (1=JSON, 2=SMILE)
+ *   [3] flags (bit0 = LZ4, bit1 = softAt 있음)
+ *   [+8] softAtMillis         (flags bit1)
+ *   [+4] 압축 전 길이          (flags bit0)
+ *   [..] payload
+ *
+ * 첫 바이트가 MAGIC 이 아니면 예전 평문 JSON 엔트리로 읽는다 (기존 키는 TTL 만료까지 그대로 읽힘)
+ * 쓰기는 cache.codec.binary-write(기본 true) 로 새 포맷. 예전 노드가 섞인 롤링 배포 동안만 false 로 두면
+ * 예전 노드도 읽는 평문 JSON 으로 쓴다 (평문에는 soft 만료 시각이 없어 그 동안은 hard TTL 까지 그대로 사용)
+ */
+@Slf4j
+@Component
+public class CacheValueCodec {
+
+    public static final long NO_SOFT = Long.MAX_VALUE;
+
+    private static final byte MAGIC = (byte) 0xC5;
+    private static final byte VERSION = 1;
+    private static final byte FMT_JSON = 1;
+    private static final byte FMT_SMILE = 2;
+    private static final int FLAG_LZ4 = 1;
+    private static final int FLAG_SOFT = 1 << 1;
+
+    public record Decoded(Object value, long softAtMillis) {}
+
+    private final ObjectMapper json;
+    private final ObjectMapper smile;
+    private final CacheProperties.Codec props;
+
+    private final LZ4Compressor lz4 = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor unlz4 = LZ4Factory.fastestInstance().fastDecompressor();
+
+    public CacheValueCodec(ObjectMapper om, CacheProperties props) {
+        this.json = om;
+        this.smile = om.copyWith(new SmileFactory()); // JavaTimeModule 등 등록 모듈/설정 그대로
+        this.props = props.getCodec();
+        if (!this.props.isBinaryWrite()) {
+            log.warn("cache.codec.binary-write=false: 평문 JSON 으로 저장 → soft 만료(SWR) 꺼짐, 롤링 배포가 끝나면 켤 것");
+        }
+    }
+
+    public JavaType type(Class<?> type) {
+        return json.getTypeFactory().constructType(type);
+    }
+
+    public JavaType type(com.fasterxml.jackson.core.type.TypeReference<?> typeRef) {
+        return json.getTypeFactory().constructType(typeRef);
+    }
+
+    public byte[] encode(String key, Object value, long softAtMillis) throws IOException {
+        if (!props.isBinaryWrite()) return json.writeValueAsBytes(value);
+
+        CacheProperties.Format format = props.getPrefixes()
+                .getOrDefault(NearCache.prefixOf(key), props.getDefaultFormat());
+
+        byte fmt = (format == CacheProperties.Format.SMILE) ? FMT_SMILE : FMT_JSON;
+        byte[] payload = (fmt == FMT_SMILE) ? smile.writeValueAsBytes(value) : json.writeValueAsBytes(value);
+
+        int flags = 0;
+        int rawLen = payload.length;
+        int threshold = props.getCompressThreshold();
+        if (threshold > 0 && rawLen >= threshold) {
+            byte[] packed = new byte[lz4.maxCompressedLength(rawLen)];
+            int n = lz4.compress(payload, 0, rawLen, packed, 0, packed.length);
+            if (n < rawLen) { // 압축이 손해면 원본 유지
+                payload = Arrays.copyOf(packed, n);
+                flags |= FLAG_LZ4;
+            }
+        }
+        if (softAtMillis != NO_SOFT) flags |= FLAG_SOFT;
+
+        ByteBuffer buf = ByteBuffer.allocate(4
+                + ((flags & FLAG_SOFT) != 0 ? 8 : 0)
+                + ((flags & FLAG_LZ4) != 0 ? 4 : 0)
+                + payload.length);
+        buf.put(MAGIC).put(VERSION).put(fmt).put((byte) flags);
+        if ((flags & FLAG_SOFT) != 0) buf.putLong(softAtMillis);
+        if ((flags & FLAG_LZ4) != 0) buf.putInt(rawLen);
+        buf.put(payload);
+        return buf.array();
+    }
+
+    /** @return 역직렬화 값 + soft 만료 시각 (값이 null 이면 null) */
+    public Decoded decode(byte[] raw, JavaType type) throws IOException {
+        if (raw == null || raw.length == 0) return null;
+        if (raw[0] != MAGIC) return decodeLegacy(raw, type);
+
+        ByteBuffer buf = ByteBuffer.wrap(raw);
+        buf.get(); // MAGIC
+        byte version = buf.get();
+        if (version != VERSION) {
+            throw new IOException("unsupported cache value version: " + version);
+        }
+        byte fmt = buf.get();
+        int flags = buf.get();
+        long softAt = ((flags & FLAG_SOFT) != 0) ? buf.getLong() : NO_SOFT;
+
+        byte[] payload;
+        int off;
+        int len;
+        if ((flags & FLAG_LZ4) != 0) {
+            int rawLen = buf.getInt();
+            payload = new byte[rawLen];
+            unlz4.decompress(raw, buf.position(), payload, 0, rawLen);
+            off = 0;
+            len = rawLen;
+        } else {
+            payload = raw;
+            off = buf.position();
+            len = raw.length - off;
+        }
+
+        ObjectMapper mapper = (fmt == FMT_SMILE) ? smile : json;
+        Object v = mapper.readValue(payload, off, len, type);
+        return v == null ? null : new Decoded(v, softAt);
+    }
+
+    /** 예전 StringRedisTemplate 평문 JSON 엔트리 */
+    private Decoded decodeLegacy(byte[] raw, JavaType type) throws IOException {
+        Object v = json.readValue(raw, type);
+        return v == null ? null : new Decoded(v, NO_SOFT);
+    }
+}
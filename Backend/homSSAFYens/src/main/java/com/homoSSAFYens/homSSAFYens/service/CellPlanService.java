@@ -0,0 +1,117 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.common.GeoKeyUtil;
+import com.homoSSAFYens.homSSAFYens.common.TideAlertPlanner;
+import com.homoSSAFYens.homSSAFYens.common.TideTimeline;
+import com.homoSSAFYens.homSSAFYens.dto.TideHighInfo;
+import com.homoSSAFYens.homSSAFYens.repo.TideRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * geoKey × 날짜 단위 알림 계획 캐시
+ * - 만조(T) 목록, 직전 간조(TideTimeline), 상승속도 조회, 동적 오프셋 계산은 geoKey/날짜에만 의존
+ *   → 셀마다 하루 한 번 계산해서 (L1 → Redis) 캐시, 같은 셀의 모든 디바이스가 재사용
+ * - 만조마다 offsets 가 null 이면 "디바이스 오프셋(OffsetService) 사용", 아니면 속도 기반으로 조정된 오프셋
+ * - 미스 시 getOrLoad 의 single-flight 로 클러스터 전체에서 1번만 계산
+ * - 상승속도/일간 조석은 그 셀에서 처음 계산하는 디바이스 좌표 기준 (geoKey 가 ~110m 격자라 셀 안 차이는 무시)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CellPlanService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    /** 하루 안에선 거의 안 바뀜. 조석/위험구역 데이터 갱신은 soft 만료 뒤 백그라운드로 반영 */
+    private static final CachePolicy POLICY = CachePolicy.of(Duration.ofHours(1), Duration.ofHours(36));
+
+    /** 만조 1건 계획. offsets == null → 디바이스 오프셋 */
+    public record HighPlan(long tideTs, String locationName, List<Integer> offsets) {}
+
+    /** 셀 하루치 계획 */
+    public record CellPlan(List<HighPlan> highs) {}
+
+    private final CacheService cacheService;
+    private final TideRepo tideRepo;
+    private final TideTimelineService timelineService;
+    private final DangerZoneService dangerZoneService;
+
+    private static String key(String geoKey, LocalDate day) {
+        return "plan:" + geoKey + ":" + GeoKeyUtil.dayKST(day);
+    }
+
+    /** 앞으로 도래할 만조 계획 (오늘 남은 게 없으면 내일 것) */
+    public List<HighPlan> upcoming(String geoKey, long nowEpoch, double lat, double lon) {
+        LocalDate today = LocalDate.ofInstant(java.time.Instant.ofEpochSecond(nowEpoch), KST);
+        List<HighPlan> out = after(planFor(geoKey, today, lat, lon), nowEpoch);
+        if (out.isEmpty()) {
+            out = after(planFor(geoKey, today.plusDays(1), lat, lon), nowEpoch);
+        }
+        return out;
+    }
+
+    private static List<HighPlan> after(CellPlan plan, long nowEpoch) {
+        if (plan == null) return List.of();
+        return plan.highs().stream().filter(h -> h.tideTs() > nowEpoch).toList();
+    }
+
+    public CellPlan planFor(String geoKey, LocalDate day, double lat, double lon) {
+        // 빈 계획(조석 데이터 아직 없음)은 저장하지 않음 → 다음 요청에 다시 계산
+        return cacheService.getOrLoad(key(geoKey, day), CellPlan.class, POLICY,
+                () -> build(geoKey, day, lat, lon), p -> p != null && !p.highs().isEmpty());
+    }
+
+    private CellPlan build(String geoKey, LocalDate day, double lat, double lon) {
+        // 주간 7일치 타임라인 → 직전 간조를 자정 넘어서도 찾음
+        TideTimeline tl = timelineService.timeline(geoKey, lat, lon);
+        List<TideHighInfo> highs = tideRepo.highTidesOn(tl, day);
+
+        // 일간 데이터에는 간만조 시간이 순서대로 들어있음 (간조/만조 중 뭐가 먼저인지는 모름)
+        //   {"time": "00:11:00", "levelCm": 91, "trend": "RISING",  "deltaCm": 57}   deltaCm = 직전 간조 대비 올라온 정도
+        //   {"time": "06:24:00", "levelCm": 35, "trend": "FALLING", "deltaCm": -56}
+        // 직전 간조(L)부터 만조(T)까지 DB 상승속도로 적분한 상승량이 deltaCm 보다 크면 좀 더 일찍 알림
+        // (늦추는 경우는 안전상 없음). 직전 간조가 없는 만조(주간 데이터 첫 만조)는 디바이스 기본 오프셋
+        List<HighPlan> out = new ArrayList<>(highs.size());
+        for (TideHighInfo hi : highs) {
+            long T = hi.epochSecond();
+            var prevLowOpt = tl.prevLowBefore(T);
+
+            if (prevLowOpt.isEmpty()) {
+                // case 2: 앞 간조가 없음 → 기본 오프셋
+                out.add(new HighPlan(T, hi.locationName(), null));
+                continue;
+            }
+
+            // case 1: 앞 간조 L 있음 → L~T 구간 속도 기반 동적 오프셋
+            long L = prevLowOpt.getAsLong();
+
+            // 반경 5km, L~T 구간 시간별 상승속도 조회
+            double[] speeds = dangerZoneService.loadRiseSpeeds(lat, lon, 5.0, L, T);
+
+            // 통계/적분 (한 번 순회)
+            var stats = TideAlertPlanner.summarize(speeds, L, T);   // vmax, vmean(+), 상승량
+            double riseEstimateCm = stats.riseCm();
+
+            // 바다타임 deltaCm(T) 읽기
+            int deltaCm = tl.deltaAt(T); // 없으면 0
+
+            double ratio = (deltaCm <= 0) ? 1.0 : (riseEstimateCm / deltaCm);
+            log.info("[OffsetCalc] geoKey={} T={}, L={}, riseCm={}, deltaCm={}, ratio={}",
+                    geoKey, T, L, riseEstimateCm, deltaCm, String.format("%.2f", ratio));
+
+            // 속도 기반 동적 오프셋 (앞당김만, 뒤로 미루지 않음)
+            out.add(new HighPlan(T, hi.locationName(),
+                    TideAlertPlanner.adjustOffsets(stats.vmax(), stats.vmeanPos(), riseEstimateCm, deltaCm)));
+        }
+
+        log.debug("cell plan built geoKey={} day={} highs={}", geoKey, day, out.size());
+        return new CellPlan(out);
+    }
+}
@@ -6,6 +6,7 @@ import com.homoSSAFYens.homSSAFYens.common.GeoKeyUtil;
 import com.homoSSAFYens.homSSAFYens.dto.*;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.List;
@@ -19,6 +20,7 @@ public class CurrentService {
     private static final int GEO_DECIMALS = 2;
 
     private static final Duration TTL = Duration.ofMinutes(5);
+    private static final CachePolicy POLICY = CachePolicy.of(TTL, Duration.ofMinutes(15)); // 5m 지나면 stale 반환 + 뒤에서 갱신
 
     public CurrentService(CurrentApiClient currentApiClient,
                           CacheService cacheService,
@@ -29,33 +31,41 @@ public class CurrentService {
         this.objectMapper = objectMapper;
     }
 
+    /** getCurrentInfo 캐시 키 */
+    public String currentKey(double lat, double lon) {
+        return "current1h:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST();
+    }
+
     /** api 호출 시간 기준 가장 가까운 시간 날씨만 제공 */
     public CurrentResponse getCurrentInfo(double lat, double lon) {
-        final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
-        final String key = "current1h:" + geo + ":" + GeoKeyUtil.dayKST();
+        final String key = currentKey(lat, lon);
 
 
-        // 1) 캐시 히트 시 바로 반환
-        CurrentResponse cached = cacheService.get(key, CurrentResponse.class);
-        if (cached != null) return cached;
+        // 1) 캐시 히트 시 바로 반환, 미스면 원본 호출(키당 1번)
+        return cacheService.getOrLoad(key, CurrentResponse.class, POLICY,
+                () -> firstHour(currentApiClient.getCurrent(lat, lon)),
+                r -> !r.weather().isEmpty()); // 4) 데이터 있을 때만 캐시 저장
+    }
+
+    /** getCurrentInfo 논블로킹 버전 */
+    public Mono<CurrentResponse> getCurrentInfoMono(double lat, double lon) {
+        return cacheService.getOrLoadMono(currentKey(lat, lon), CurrentResponse.class, POLICY,
+                () -> currentApiClient.getCurrentMono(lat, lon).map(CurrentService::firstHour),
+                r -> !r.weather().isEmpty());
+    }
 
-        // 2) 원본 호출 → 맵핑
-        CurrentEnvelope env = currentApiClient.getCurrent(lat, lon);
+    private static CurrentResponse firstHour(CurrentEnvelope env) {
+        // 2) 원본 맵핑
         CurrentResponse full = CurrentMapper.toResponse(env);
 
         // 3) 1개만 추려서 응답 구성
         java.util.List<?> list = full.weather();
-        CurrentResponse onlyOne;
         if (list == null || list.isEmpty()) {
             // 빈 결과면 그냥 빈 리스트로 응답 (negative cache는 선택 사항)
-            onlyOne = new CurrentResponse(java.util.List.of(), full.info());
             // 필요하면: cache.setNull(key, Duration.ofMinutes(2));
-        } else {
-            onlyOne = new CurrentResponse(java.util.List.of(full.weather().get(0)), full.info());
-            cacheService.set(key, onlyOne, TTL); // 4) 캐시 저장
+            return new CurrentResponse(java.util.List.of(), full.info());
         }
-
-        return onlyOne;
+        return new CurrentResponse(java.util.List.of(full.weather().get(0)), full.info());
     }
 
     /** 현재 날씨 6시간 이후 까지 모두 제공*/
@@ -64,24 +74,22 @@ public class CurrentService {
         final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
         final String key = "current6h:" + geo + ":" + GeoKeyUtil.dayKST();
 
-        // 1) 캐시
-        CurrentResponse cached = cacheService.get(key, CurrentResponse.class);
-        if (cached != null) return cached;
-
-        // 2) 원본
-        CurrentEnvelope env = currentApiClient.getCurrent(lat, lon);
-        CurrentResponse full = CurrentMapper.toResponse(env); // weather 리스트 + info
-
+        // 1) 캐시 → 2) 원본 (weather 리스트 + info)
         // 3) 캐시 저장 후 반환
         // 빈 결과도 캐시하고 싶다면 setNull 사용(짧은 TTL) — 트래픽 폭주 방지용
-        if (full != null && full.weather() != null && !full.weather().isEmpty()) {
-            cacheService.set(key, full, TTL);
-        } else {
-            // 선택: cache.setNull(key, Duration.ofMinutes(2));
-        }
-        return full;
+        return cacheService.getOrLoad(key, CurrentResponse.class, POLICY,
+                () -> CurrentMapper.toResponse(currentApiClient.getCurrent(lat, lon)),
+                full -> full.weather() != null && !full.weather().isEmpty());
+
 
+    }
 
+    /** getCurrentListInfo 논블로킹 버전 */
+    public Mono<CurrentResponse> getCurrentListInfoMono(double lat, double lon) {
+        final String key = "current6h:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST();
+        return cacheService.getOrLoadMono(key, CurrentResponse.class, POLICY,
+                () -> currentApiClient.getCurrentMono(lat, lon).map(CurrentMapper::toResponse),
+                full -> full.weather() != null && !full.weather().isEmpty());
     }
 
 }
@@ -0,0 +1,282 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * danger_zone 예보 파일 적재 (CSV / JSON)
+ * 1) 파일을 한 줄(한 객체)씩 스트리밍 파싱 → 전체를 메모리에 올리지 않음
+ * 2) 스테이징 테이블(danger_zone_stage)에 JDBC 배치 INSERT (batch 단위)
+ *    - MySQL 은 rewriteBatchedStatements=true 여야 배치가 multi-row INSERT 한 번으로 감 (IngestConfig)
+ * 3) 스테이징에 들어온 날짜별로 트랜잭션 1번: 그 날 기존 행 DELETE + 스테이징에서 INSERT ... SELECT
+ *    → 조회 쪽은 하루 단위로 옛 데이터 아니면 새 데이터만 봄
+ * 4) 바뀐 날짜의 DangerZoneService 캐시 무효화
+ *
+ * 스테이징 테이블은 모든 노드가 공유 → Redis 리스(lock:danger-zone:ingest, SET NX PX)로 클러스터에서 한 번에 하나만
+ *
+ * 파티션 EXCHANGE 는 쓰지 않음: danger_zone 은 파티션 테이블이 아니고, 하루치 DELETE 는 (ymdh, sta_nm) 인덱스 범위로 끝남
+ */
+@Slf4j
+@Service
+public class DangerZoneIngestService {
+
+    private static final String STAGE = "danger_zone_stage";
+    private static final String COLS = "ymdh, sgg_nm, spot_nm, sta_nm, sta_lo, sta_la, tdlv_rsng_ve";
+    private static final String LOCK_KEY = "lock:danger-zone:ingest";
+
+    /** 토큰이 내 것일 때만 리스 해제 */
+    private static final DefaultRedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /** 적재 결과 */
+    public record Result(long rows, long skipped, List<LocalDate> days, long tookMs) {}
+
+    /** 파싱한 한 행 */
+    private record Row(LocalDateTime ymdh, String sggNm, String spotNm, String staNm,
+                       Double staLo, Double staLa, BigDecimal speed) {}
+
+    /** 필드 이름(CSV 헤더 / JSON 키) → 컬럼. 원본 피드의 한글/camelCase 이름도 받음 */
+    private static final Map<String, String> FIELD = new HashMap<>();
+    static {
+        alias("ymdh", "ymdh", "연월일시", "predcYmdh", "date");
+        alias("sgg_nm", "sgg_nm", "sggNm", "시군구명");
+        alias("spot_nm", "spot_nm", "spotNm", "지점명");
+        alias("sta_nm", "sta_nm", "staNm", "정점명");
+        alias("sta_lo", "sta_lo", "staLo", "lot", "lon", "경도");
+        alias("sta_la", "sta_la", "staLa", "lat", "위도");
+        alias("tdlv_rsng_ve", "tdlv_rsng_ve", "tdlvRsngVe", "조위상승속도");
+    }
+
+    private static void alias(String col, String... names) {
+        for (String n : names) FIELD.put(n.toLowerCase(), col);
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ObjectMapper om;
+    private final DangerZoneService dangerZoneService;
+    private final StringRedisTemplate redis;
+
+    @Value("${danger-zone.ingest.batch:5000}")
+    private int batchSize;
+
+    /** 적재 리스 (가장 긴 적재 시간보다 길게, 노드가 죽으면 이 시간 뒤 풀림) */
+    @Value("${danger-zone.ingest.lease:30m}")
+    private Duration lease;
+
+    public DangerZoneIngestService(JdbcTemplate jdbc, TransactionTemplate tx, ObjectMapper om,
+                                   DangerZoneService dangerZoneService, StringRedisTemplate redis) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.om = om;
+        this.dangerZoneService = dangerZoneService;
+        this.redis = redis;
+    }
+
+    public Result ingest(Path file) throws IOException {
+        // 한 번에 하나만 (스테이징 테이블은 클러스터 공유)
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(LOCK_KEY, token, lease))) {
+            throw new IllegalStateException("danger_zone ingest already running");
+        }
+        try {
+            long start = System.currentTimeMillis();
+
+            // DDL 은 MySQL 에서 암묵적 커밋 → 트랜잭션 밖에서
+            jdbc.execute("CREATE TABLE IF NOT EXISTS " + STAGE + " LIKE danger_zone");
+            jdbc.execute("TRUNCATE TABLE " + STAGE);
+
+            // 1), 2) 스트리밍 파싱 → 배치 INSERT
+            Stager stager = new Stager();
+            String name = file.getFileName().toString().toLowerCase();
+            try (InputStream in = Files.newInputStream(file)) {
+                if (name.endsWith(".json")) parseJson(in, stager);
+                else parseCsv(in, stager);
+            }
+            stager.flush();
+
+            // 3) 날짜별 교체
+            List<LocalDate> days = jdbc.queryForList(
+                    "SELECT DISTINCT DATE(ymdh) FROM " + STAGE + " ORDER BY 1", LocalDate.class);
+            for (LocalDate d : days) {
+                Timestamp from = Timestamp.valueOf(d.atStartOfDay());
+                Timestamp to = Timestamp.valueOf(d.plusDays(1).atStartOfDay());
+                tx.executeWithoutResult(s -> {
+                    jdbc.update("DELETE FROM danger_zone WHERE ymdh >= ? AND ymdh < ?", from, to);
+                    jdbc.update("INSERT INTO danger_zone (" + COLS + ") SELECT " + COLS
+                            + " FROM " + STAGE + " WHERE ymdh >= ? AND ymdh < ?", from, to);
+                });
+            }
+            jdbc.execute("TRUNCATE TABLE " + STAGE);
+
+            // 4) 캐시
+            dangerZoneService.evictDays(days);
+
+            Result r = new Result(stager.rows, stager.skipped, days, System.currentTimeMillis() - start);
+            log.info("danger_zone ingest file={} rows={} skipped={} days={} took={}ms",
+                    file, r.rows(), r.skipped(), days.size(), r.tookMs());
+            return r;
+        } finally {
+            redis.execute(RELEASE, List.of(LOCK_KEY), token);
+        }
+    }
+
+    /** 모아서 batchSize 마다 스테이징에 배치 INSERT */
+    private final class Stager implements Consumer<Map<String, String>> {
+        private final List<Object[]> buf = new ArrayList<>(batchSize);
+        long rows;
+        long skipped;
+
+        @Override
+        public void accept(Map<String, String> fields) {
+            Row r = toRow(fields);
+            if (r == null) { skipped++; return; }
+            buf.add(new Object[]{Timestamp.valueOf(r.ymdh()), r.sggNm(), r.spotNm(), r.staNm(),
+                    r.staLo(), r.staLa(), r.speed()});
+            if (buf.size() >= batchSize) flush();
+        }
+
+        void flush() {
+            if (buf.isEmpty()) return;
+            jdbc.batchUpdate("INSERT INTO " + STAGE + " (" + COLS + ") VALUES (?, ?, ?, ?, ?, ?, ?)", buf);
+            rows += buf.size();
+            buf.clear();
+        }
+    }
+
+    // ===== 파싱 =====
+
+    /** CSV: 첫 줄 헤더, 따옴표 필드 지원 (필드 안 줄바꿈은 없음) */
+    private void parseCsv(InputStream in, Consumer<Map<String, String>> sink) throws IOException {
+        BufferedReader br = new BufferedReader(new java.io.InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        String header = br.readLine();
+        if (header == null) return;
+        if (header.startsWith("\uFEFF")) header = header.substring(1); // BOM
+
+        List<String> names = splitCsv(header);
+        String[] cols = new String[names.size()];
+        for (int i = 0; i < cols.length; i++) cols[i] = FIELD.get(names.get(i).trim().toLowerCase());
+
+        String line;
+        while ((line = br.readLine()) != null) {
+            if (line.isBlank()) continue;
+            List<String> v = splitCsv(line);
+            Map<String, String> fields = new HashMap<>(16);
+            for (int i = 0; i < cols.length && i < v.size(); i++) {
+                if (cols[i] != null) fields.put(cols[i], v.get(i));
+            }
+            sink.accept(fields);
+        }
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') { sb.append('"'); i++; }
+                    else quoted = false;
+                } else sb.append(c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(sb.toString());
+                sb.setLength(0);
+            } else sb.append(c);
+        }
+        out.add(sb.toString());
+        return out;
+    }
+
+    /**
+     * JSON: 배열 안의 객체 하나씩 읽음 (최상위 배열이든 {"response":{"body":{"items":{"item":[...]}}}} 같은 봉투든)
+     * 객체 하나만 트리로 만들고 버림
+     */
+    private void parseJson(InputStream in, Consumer<Map<String, String>> sink) throws IOException {
+        try (JsonParser p = om.getFactory().createParser(in)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t != JsonToken.START_ARRAY) continue;
+                while ((t = p.nextToken()) == JsonToken.START_OBJECT) {
+                    JsonNode n = p.readValueAsTree();
+                    Map<String, String> fields = new HashMap<>(16);
+                    n.properties().forEach(e -> {
+                        String col = FIELD.get(e.getKey().toLowerCase());
+                        if (col != null && !e.getValue().isNull()) fields.put(col, e.getValue().asText());
+                    });
+                    sink.accept(fields);
+                }
+                // 객체 배열이 아니면(숫자 배열 등) 나머지는 바깥 루프가 건너뜀
+            }
+        }
+    }
+
+    /** 필수값(ymdh, 좌표) 없거나 깨진 행은 null */
+    private static Row toRow(Map<String, String> f) {
+        try {
+            LocalDateTime ymdh = parseYmdh(f.get("ymdh"));
+            Double lo = num(f.get("sta_lo"));
+            Double la = num(f.get("sta_la"));
+            if (ymdh == null || lo == null || la == null) return null;
+            String speed = blankToNull(f.get("tdlv_rsng_ve"));
+            return new Row(ymdh, blankToNull(f.get("sgg_nm")), blankToNull(f.get("spot_nm")),
+                    blankToNull(f.get("sta_nm")), lo, la, speed == null ? null : new BigDecimal(speed.trim()));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** "2025071506", "2025-07-15 06:00", "2025-07-15T06:00:00" → 숫자만 모아 yyyyMMddHH(mm) */
+    private static LocalDateTime parseYmdh(String s) {
+        if (s == null) return null;
+        StringBuilder d = new StringBuilder(14);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') d.append(c);
+        }
+        if (d.length() < 10) return null;
+        int minute = d.length() >= 12 ? Integer.parseInt(d.substring(10, 12)) : 0;
+        return LocalDateTime.of(Integer.parseInt(d.substring(0, 4)), Integer.parseInt(d.substring(4, 6)),
+                Integer.parseInt(d.substring(6, 8)), Integer.parseInt(d.substring(8, 10)), minute);
+    }
+
+    private static Double num(String s) {
+        s = blankToNull(s);
+        return s == null ? null : Double.valueOf(s.trim());
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.isBlank()) ? null : s;
+    }
+}
@@ -1,32 +1,222 @@
 package com.homoSSAFYens.homSSAFYens.service;
 
-import com.homoSSAFYens.homSSAFYens.entity.DangerZone;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.homoSSAFYens.homSSAFYens.config.CacheProperties;
 import com.homoSSAFYens.homSSAFYens.repo.DangerZoneRepo;
-import lombok.RequiredArgsConstructor;
+import com.homoSSAFYens.homSSAFYens.utill.GeoUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+/**
+ * 연안 정점 조위상승속도 조회
+ * - danger_zone 은 사실상 고정 예보 데이터 → 하루치를 한 번에 읽어 힙에 둔다 (날짜별 캐시)
+ * - 하루치 = 정점 위경도 배열 + 정점×시(0~23) 속도 표 + 정점 격자(GRID_DEG) 인덱스
+ * - 반경/시간창 조회는 격자 몇 칸 + 배열 스캔 (핫패스에서 MySQL ST_Distance_Sphere 전수 스캔 없음)
+ * - 적재로 바뀐 날짜는 L1 무효화 채널(cache:inval)로 "nodeId|dangerzone:<날짜>" 를 보내 모든 노드에서 버림
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class DangerZoneService {
+public class DangerZoneService implements MessageListener {
+
+    /** 무효화 메시지 키 prefix (NearCache tier 가 아니라 NearCache 는 무시함) */
+    private static final String INVAL_PREFIX = "dangerzone:";
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 정점 격자 한 변(도). 0.05° ≈ 5.5km (기본 조회 반경 5km) */
+    private static final double GRID_DEG = 0.05;
+    private static final double KM_PER_DEG_LAT = 111.32;
+
+    /** 하루치 정점/시간별 속도 스냅샷 (불변) */
+    private static final class DaySpeeds {
+        final double[] lat;
+        final double[] lon;
+        final double[][] speed;         // [정점][시] (없으면 NaN)
+        final Map<Long, int[]> grid;    // 격자 → 정점 번호
+
+        DaySpeeds(double[] lat, double[] lon, double[][] speed, Map<Long, int[]> grid) {
+            this.lat = lat;
+            this.lon = lon;
+            this.speed = speed;
+            this.grid = grid;
+        }
+
+        /** (lat,lon) 반경 rKm 안 정점 번호 (번호 오름차순) */
+        int[] stationsWithin(double lat, double lon, double rKm) {
+            double dLat = rKm / KM_PER_DEG_LAT;
+            double dLon = rKm / (KM_PER_DEG_LAT * Math.max(0.01, Math.cos(Math.toRadians(lat))));
+            int r0 = idx(lat - dLat), r1 = idx(lat + dLat);
+            int c0 = idx(lon - dLon), c1 = idx(lon + dLon);
+
+            int[] out = new int[8];
+            int n = 0;
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int[] ids = grid.get(key(r, c));
+                    if (ids == null) continue;
+                    for (int s : ids) {
+                        if (GeoUtil.haversineKm(lat, lon, this.lat[s], this.lon[s]) > rKm) continue;
+                        if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                        out[n++] = s;
+                    }
+                }
+            }
+            int[] res = Arrays.copyOf(out, n);
+            Arrays.sort(res);
+            return res;
+        }
+    }
 
     private final DangerZoneRepo repo;
+    private final StringRedisTemplate redis;
+    private final String channel;
+
+    /** 무효화 메시지에서 내가 보낸 건 걸러내기 위한 노드 식별자 */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** 날짜 → 하루치 (오늘/내일 정도만 쓰임). 데이터가 나중에 들어와도 반영되게 6시간 뒤 다시 읽음 */
+    private final Cache<LocalDate, DaySpeeds> days = Caffeine.newBuilder()
+            .maximumSize(4)
+            .expireAfterWrite(Duration.ofHours(6))
+            .build();
+
+    public DangerZoneService(DangerZoneRepo repo, StringRedisTemplate redis, CacheProperties props) {
+        this.repo = repo;
+        this.redis = redis;
+        this.channel = props.getNear().getChannel();
+    }
 
     /**
      * (lat,lon) 반경 rKm 내에서 [fromEpochSec, toEpochSec] 구간의 시간별 조위상승속도 반환
+     * (시간 순, 같은 시각은 정점 순)
      */
-    public List<BigDecimal> loadRiseSpeeds(double lat, double lon, double rKm,
+    public double[] loadRiseSpeeds(double lat, double lon, double rKm,
                                            long fromEpochSec, long toEpochSec) {
-        ZoneId zone = ZoneId.of("Asia/Seoul");
-        LocalDateTime from = LocalDateTime.ofInstant(Instant.ofEpochSecond(fromEpochSec), zone);
-        LocalDateTime to   = LocalDateTime.ofInstant(Instant.ofEpochSecond(toEpochSec), zone);
-        double radiusMeters = rKm * 1000.0;
-        return repo.findSpeedsInRadiusBetween(lat, lon, radiusMeters, from, to);
+        LocalDateTime from = LocalDateTime.ofInstant(Instant.ofEpochSecond(fromEpochSec), KST);
+        LocalDateTime to   = LocalDateTime.ofInstant(Instant.ofEpochSecond(toEpochSec), KST);
+
+        // ymdh BETWEEN from AND to → 정시 중 from 이상 to 이하
+        LocalDateTime h = from.truncatedTo(ChronoUnit.HOURS);
+        if (h.isBefore(from)) h = h.plusHours(1);
+
+        double[] out = new double[32];
+        int n = 0;
+        LocalDate curDay = null;
+        DaySpeeds day = null;
+        int[] near = null;
+        for (; !h.isAfter(to); h = h.plusHours(1)) {
+            if (!h.toLocalDate().equals(curDay)) {
+                curDay = h.toLocalDate();
+                day = days.get(curDay, this::loadDay);
+                near = day.stationsWithin(lat, lon, rKm);
+            }
+            int hour = h.getHour();
+            for (int s : near) {
+                double v = day.speed[s][hour];
+                if (Double.isNaN(v)) continue;
+                if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                out[n++] = v;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /** 적재(DangerZoneIngestService)로 바뀐 날짜는 다음 조회 때 다시 읽음 (다른 노드에도 발행) */
+    public void evictDays(Collection<LocalDate> dates) {
+        days.invalidateAll(dates);
+        for (LocalDate d : dates) {
+            try {
+                redis.convertAndSend(channel, nodeId + "|" + INVAL_PREFIX + d);
+            } catch (Exception e) {
+                // 발행 실패해도 하루치 캐시는 6시간 뒤 다시 읽음
+                log.warn("danger_zone eviction publish failed date={}", d, e);
+            }
+        }
+    }
+
+    /** pub/sub 수신: "nodeId|dangerzone:2025-07-21" (다른 L1 무효화 메시지는 무시) */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf('|');
+        if (sep < 0 || nodeId.equals(body.substring(0, sep))) return;
+        String key = body.substring(sep + 1);
+        if (!key.startsWith(INVAL_PREFIX)) return;
+        try {
+            days.invalidate(LocalDate.parse(key.substring(INVAL_PREFIX.length())));
+        } catch (Exception e) {
+            log.warn("bad danger_zone eviction message {}", body);
+        }
+    }
+
+    /** 하루치 전 정점 예보를 한 번에 읽어 표/격자로 */
+    private DaySpeeds loadDay(LocalDate date) {
+        long start = System.nanoTime();
+        List<DangerZoneRepo.SpeedRow> rows =
+                repo.findAllSpeedsBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+
+        // 정점 = (이름, 위도, 경도)
+        Map<String, Integer> stationIdx = new LinkedHashMap<>();
+        List<double[]> coords = new ArrayList<>();
+        List<double[]> speeds = new ArrayList<>();
+        for (DangerZoneRepo.SpeedRow r : rows) {
+            if (r.getStaLa() == null || r.getStaLo() == null || r.getYmdh() == null) continue;
+            String k = r.getStaNm() + "|" + r.getStaLa() + "|" + r.getStaLo();
+            Integer s = stationIdx.get(k);
+            if (s == null) {
+                s = coords.size();
+                stationIdx.put(k, s);
+                coords.add(new double[]{r.getStaLa(), r.getStaLo()});
+                double[] hours = new double[24];
+                Arrays.fill(hours, Double.NaN);
+                speeds.add(hours);
+            }
+            if (r.getSpeed() != null) speeds.get(s)[r.getYmdh().getHour()] = r.getSpeed().doubleValue();
+        }
+
+        int n = coords.size();
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            lat[i] = coords.get(i)[0];
+            lon[i] = coords.get(i)[1];
+            cells.computeIfAbsent(key(idx(lat[i]), idx(lon[i])), k -> new ArrayList<>()).add(i);
+        }
+        Map<Long, int[]> grid = new HashMap<>(cells.size() * 2);
+        cells.forEach((k, v) -> grid.put(k, v.stream().mapToInt(Integer::intValue).toArray()));
+
+        log.info("danger_zone day cache loaded date={} rows={} stations={} took={}ms",
+                date, rows.size(), n, (System.nanoTime() - start) / 1_000_000);
+        return new DaySpeeds(lat, lon, speeds.toArray(double[][]::new), grid);
+    }
+
+    private static int idx(double deg) {
+        return (int) Math.floor(deg / GRID_DEG);
+    }
+
+    private static long key(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
     }
 
     // (선택) 위험구역 여부 체크가 필요하면 여기에 추가:
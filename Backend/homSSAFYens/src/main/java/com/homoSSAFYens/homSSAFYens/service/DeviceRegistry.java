@@ -1,34 +1,372 @@
 package com.homoSSAFYens.homSSAFYens.service;
 
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.stereotype.Component;
 
-import com.homoSSAFYens.homSSAFYens.dto.LocationDto;
+import com.homoSSAFYens.homSSAFYens.utill.GeoUtil;
 
+/**
+ * 디바이스 최신 위치 레지스트리 (in-memory, 열 저장)
+ * - 디바이스 1대 = 슬롯 번호 1개. 슬롯별 lat/lon/ts/격자는 primitive 배열, deviceId/토큰은 String 배열
+ *   → 디바이스당 객체는 deviceId→슬롯 맵 엔트리 정도 (DeviceInfo/LocationDto/Double 박싱 없음)
+ * - 쓰기: writeLock(ReentrantLock) 하나로 직렬화(단일 writer, 슬롯 몇 개 쓰는 짧은 구간). 슬롯마다 seqlock(홀수=쓰는 중) 으로 찢어진 읽기 방지
+ * - 읽기: 락 없음, 복사 없음. 현재 배열을 그대로 훑는다 (용량이 차면 writer 가 2배로 복사해 새로 게시)
+ * - 위경도 격자(CELL_DEG) 인덱스: 격자 → 슬롯 int[] (copy-on-write)
+ */
 @Component
 public class DeviceRegistry {
 
-    public static class DeviceInfo {
-        public final String deviceId;
-        public final String fcmToken;
-        public volatile LocationDto lastLocation;
+    /** 격자 한 변(도). 0.1° ≈ 위도 11km */
+    static final double CELL_DEG = 0.1;
 
-        public DeviceInfo(String deviceId, String fcmToken, LocationDto loc) {
-            this.deviceId = deviceId;
-            this.fcmToken = fcmToken;
-            this.lastLocation = loc;
+    private static final long NO_CELL = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** 알림 보낼 때 필요한 슬롯의 식별 정보 */
+    public record DeviceRef(String deviceId, String fcmToken) {}
+
+    /** 열 배열 묶음 (용량 고정, 커지면 통째로 교체) */
+    private static final class Columns {
+        final double[] lat;
+        final double[] lon;
+        final long[] ts;
+        final long[] cell;
+        final String[] ids;
+        final String[] tokens;
+        final AtomicLongArray seq;
+
+        Columns(int cap) {
+            lat = new double[cap];
+            lon = new double[cap];
+            ts = new long[cap];
+            cell = new long[cap];
+            Arrays.fill(cell, NO_CELL);
+            ids = new String[cap];
+            tokens = new String[cap];
+            seq = new AtomicLongArray(cap);
+        }
+
+        int capacity() {
+            return lat.length;
+        }
+
+        Columns grow(int cap) {
+            Columns n = new Columns(cap);
+            int len = capacity();
+            System.arraycopy(lat, 0, n.lat, 0, len);
+            System.arraycopy(lon, 0, n.lon, 0, len);
+            System.arraycopy(ts, 0, n.ts, 0, len);
+            System.arraycopy(cell, 0, n.cell, 0, len);
+            System.arraycopy(ids, 0, n.ids, 0, len);
+            System.arraycopy(tokens, 0, n.tokens, 0, len);
+            for (int i = 0; i < len; i++) n.seq.set(i, seq.get(i));
+            return n;
+        }
+    }
+
+    private volatile Columns cols = new Columns(INITIAL_CAPACITY);
+    /** 한 번이라도 쓴 슬롯 수 (이 아래에서만 훑음) */
+    private volatile int highWater;
+
+    private final Map<String, Integer> slotOf = new ConcurrentHashMap<>();
+    /** 격자 → 그 안의 슬롯 */
+    private final Map<Long, int[]> grid = new ConcurrentHashMap<>();
+
+    // --- writer 전용 ---
+    private final ReentrantLock writeLock = new ReentrantLock(); // synchronized 와 달리 가상 스레드를 carrier 에 고정하지 않음
+    private int[] freeSlots = new int[16];
+    private int freeTop;
+
+    public void upsert(String deviceId, String token, double lat, double lon, long ts) {
+        writeLock.lock();
+        try {
+            Integer existing = slotOf.get(deviceId);
+            int slot = (existing != null) ? existing : allocSlot();
+            Columns c = cols;
+            long from = c.cell[slot];
+            long to = cellOf(lat, lon);
+
+            c.seq.incrementAndGet(slot); // 홀수: 쓰는 중
+            c.lat[slot] = lat;
+            c.lon[slot] = lon;
+            c.ts[slot] = ts;
+            c.cell[slot] = to;
+            c.ids[slot] = deviceId;
+            if (token != null) c.tokens[slot] = token;
+            c.seq.incrementAndGet(slot); // 짝수: 완료
+
+            if (existing == null) {
+                slotOf.put(deviceId, slot);
+                if (slot >= highWater) highWater = slot + 1;
+            }
+            if (from != to) {
+                if (from != NO_CELL) gridRemove(from, slot);
+                if (to != NO_CELL) gridAdd(to, slot);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** 토큰만 갱신 (위치를 아직 모르면 위치 없는 슬롯으로 등록) */
+    public void updateToken(String deviceId, String token) {
+        writeLock.lock();
+        try {
+            Integer slot = slotOf.get(deviceId);
+            if (slot == null) {
+                upsert(deviceId, token, Double.NaN, Double.NaN, 0);
+                return;
+            }
+            Columns c = cols;
+            c.seq.incrementAndGet(slot);
+            c.tokens[slot] = token;
+            c.seq.incrementAndGet(slot);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** 토큰 제거 (UNREGISTERED). 그 사이 새 토큰으로 바뀌었으면 유지 */
+    public void clearToken(String deviceId, String token) {
+        writeLock.lock();
+        try {
+            Integer slot = slotOf.get(deviceId);
+            if (slot == null) return;
+            Columns c = cols;
+            if (token != null && !token.equals(c.tokens[slot])) return;
+            c.seq.incrementAndGet(slot);
+            c.tokens[slot] = null;
+            c.seq.incrementAndGet(slot);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 기동 스냅샷 적재용 upsert: 레지스트리에 이미 더 최신 위치(ts)가 있으면 건너뜀
+     * - 스냅샷을 읽는 사이 write-through 로 들어온 값이 옛 값으로 덮이지 않게
+     * - 토큰은 레지스트리에 없을 때만 채움 (등록은 ts 를 안 바꾸므로 ts 로는 판단 불가)
+     * @return 적재했으면 true
+     */
+    public boolean upsertIfNewer(String deviceId, String token, double lat, double lon, long ts) {
+        writeLock.lock();
+        try {
+            Integer slot = slotOf.get(deviceId);
+            if (slot == null) {
+                upsert(deviceId, token, lat, lon, ts);
+                return true;
+            }
+            Columns c = cols;
+            if (c.ts[slot] > ts) {
+                if (c.tokens[slot] == null && token != null) updateToken(deviceId, token);
+                return false;
+            }
+            upsert(deviceId, c.tokens[slot] == null ? token : null, lat, lon, ts);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 기동 스냅샷 적재용: 레지스트리에 토큰이 없을 때만 채움
+     * @return 채웠으면 true
+     */
+    public boolean updateTokenIfAbsent(String deviceId, String token) {
+        writeLock.lock();
+        try {
+            Integer slot = slotOf.get(deviceId);
+            if (slot != null && cols.tokens[slot] != null) return false;
+            updateToken(deviceId, token);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(String deviceId) {
+        writeLock.lock();
+        try {
+            Integer slot = slotOf.remove(deviceId);
+            if (slot == null) return;
+            Columns c = cols;
+            long from = c.cell[slot];
+
+            c.seq.incrementAndGet(slot);
+            c.ids[slot] = null;
+            c.tokens[slot] = null;
+            c.cell[slot] = NO_CELL;
+            c.seq.incrementAndGet(slot);
+
+            if (from != NO_CELL) gridRemove(from, slot);
+            if (freeTop == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeTop * 2);
+            freeSlots[freeTop++] = slot;
+        } finally {
+            writeLock.unlock();
         }
     }
 
-    private final Map<String, DeviceInfo> devices = new ConcurrentHashMap<>();
+    public int size() {
+        return slotOf.size();
+    }
+
+    private int allocSlot() {
+        if (freeTop > 0) return freeSlots[--freeTop];
+        int slot = highWater;
+        Columns c = cols;
+        if (slot == c.capacity()) cols = c.grow(c.capacity() * 2);
+        return slot;
+    }
+
+    // ===== 읽기 (락/복사 없음) =====
+
+    /**
+     * 슬롯들의 위경도 + 그 위치의 deviceId 를 seqlock 으로 일관되게 읽는다. 빈 슬롯은 NaN / null.
+     * 나중에 device(slot) 으로 토큰을 가져올 때 ids[k] 와 비교 → 그 사이 슬롯이 해제·재사용됐으면 다른 기기
+     */
+    public void readLocations(int[] slots, double[] lats, double[] lons, String[] ids) {
+        Columns c = cols;
+        for (int k = 0; k < slots.length; k++) {
+            int s = slots[k];
+            double la, lo;
+            String id;
+            boolean live;
+            while (true) {
+                long v = c.seq.get(s);
+                la = c.lat[s];
+                lo = c.lon[s];
+                id = c.ids[s];
+                live = id != null && c.cell[s] != NO_CELL;
+                VarHandle.acquireFence();
+                if ((v & 1) == 0 && c.seq.get(s) == v) break;
+                Thread.onSpinWait();
+            }
+            lats[k] = live ? la : Double.NaN;
+            lons[k] = live ? lo : Double.NaN;
+            ids[k] = live ? id : null;
+        }
+    }
+
+    /** 슬롯의 deviceId/토큰 (빈 슬롯이면 null) */
+    public DeviceRef device(int slot) {
+        Columns c = cols;
+        while (true) {
+            long v = c.seq.get(slot);
+            String id = c.ids[slot];
+            String token = c.tokens[slot];
+            VarHandle.acquireFence();
+            if ((v & 1) == 0 && c.seq.get(slot) == v) {
+                return id == null ? null : new DeviceRef(id, token);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 경로(위경도 점 목록) 주변 radiusKm 안에 있을 수 있는 슬롯 후보.
+     * 각 구간의 bbox(대권이 극 쪽으로 휘는 만큼 포함)를 반경만큼 넓혀 걸치는 격자만 모은다
+     * (정확한 거리 판정은 호출자가).
+     */
+    public int[] candidatesNear(double[][] path, double radiusKm) {
+        Set<Long> cells = new HashSet<>();
+        int n = path.length;
+        for (int i = 0; i < n; i++) {
+            double[] a = path[i];
+            double[] b = (i + 1 < n) ? path[i + 1] : a;
+            double[] lat = GeoUtil.segmentLatRange(a[0], a[1], b[0], b[1]);
+            addCells(cells, lat[0], lat[1],
+                    Math.min(a[1], b[1]), Math.max(a[1], b[1]),
+                    radiusKm);
+            if (cells.size() > grid.size()) break; // 훑을 격자가 실제 격자보다 많으면 아래서 전체 순회
+        }
+
+        if (cells.size() > grid.size()) {
+            // 경로 주변 격자가 실제 (비어있지 않은) 격자 수보다 많음 → 모든 슬롯이 후보 (빈 슬롯은 읽을 때 NaN)
+            int hw = highWater;
+            int[] all = new int[hw];
+            for (int i = 0; i < hw; i++) all[i] = i;
+            return all;
+        }
+
+        int total = 0;
+        int[][] hits = new int[cells.size()][];
+        int h = 0;
+        for (Long c : cells) {
+            int[] slots = grid.get(c);
+            if (slots == null) continue;
+            hits[h++] = slots;
+            total += slots.length;
+        }
+        int[] out = new int[total];
+        int pos = 0;
+        for (int i = 0; i < h; i++) {
+            System.arraycopy(hits[i], 0, out, pos, hits[i].length);
+            pos += hits[i].length;
+        }
+        return out;
+    }
+
+    /** [minLat,maxLat]×[minLon,maxLon] 을 radiusKm 만큼 넓힌 영역의 격자 */
+    private static void addCells(Set<Long> out, double minLat, double maxLat,
+                                 double minLon, double maxLon, double radiusKm) {
+        double dLat = radiusKm / GeoUtil.KM_PER_DEG;
+        // 경도로 닿는 폭은 고위도일수록 넓어짐 → bbox 안에서 극에 가장 가까운 위도 기준
+        double maxAbsLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double dLon = GeoUtil.lonReachDeg(radiusKm, maxAbsLat);
+
+        int r0 = latIdx(minLat - dLat), r1 = latIdx(maxLat + dLat);
+        int c0 = lonIdx(minLon - dLon), c1 = lonIdx(maxLon + dLon);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) out.add(key(r, c));
+        }
+    }
+
+    // ===== 격자 (writer 전용, copy-on-write) =====
+
+    private void gridAdd(long cell, int slot) {
+        grid.merge(cell, new int[]{slot}, (old, one) -> {
+            int[] next = Arrays.copyOf(old, old.length + 1);
+            next[old.length] = slot;
+            return next;
+        });
+    }
+
+    private void gridRemove(long cell, int slot) {
+        grid.computeIfPresent(cell, (k, old) -> {
+            if (old.length == 1) return old[0] == slot ? null : old;
+            int[] next = new int[old.length - 1];
+            int j = 0;
+            for (int s : old) {
+                if (s == slot) continue;
+                if (j == next.length) return old; // 없었음
+                next[j++] = s;
+            }
+            return next;
+        });
+    }
+
+    private static long cellOf(double lat, double lon) {
+        if (Double.isNaN(lat) || Double.isNaN(lon)) return NO_CELL;
+        return key(latIdx(lat), lonIdx(lon));
+    }
+
+    private static int latIdx(double lat) {
+        return (int) Math.floor((Math.max(-90.0, Math.min(90.0, lat)) + 90.0) / CELL_DEG);
+    }
 
-    public void upsert(String deviceId, String token, LocationDto loc) {
-        devices.put(deviceId, new DeviceInfo(deviceId, token, loc));
+    private static int lonIdx(double lon) {
+        return (int) Math.floor((lon + 180.0) / CELL_DEG);
     }
 
-    public Map<String, DeviceInfo> snapshot() {
-        return Map.copyOf(devices);
+    private static long key(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
     }
 }
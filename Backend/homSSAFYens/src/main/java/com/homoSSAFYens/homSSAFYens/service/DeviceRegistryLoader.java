@@ -0,0 +1,132 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기동 시 Redis device:* 해시로 DeviceRegistry 채우기 (재시작 직후에도 태풍 매칭 대상이 있게)
+ * - SCAN(device:*, COUNT) 으로 키를 모으며 batch 개씩 끊어 워커에 넘김
+ * - 워커는 batch 를 파이프라인 HGETALL 1번으로 읽어 upsert → 스캔과 조회가 겹쳐서 진행
+ * - 지표: device.registry.warmup (소요 시간), device.registry.warmup.devices (적재 수), device.registry.size
+ * 이후 동기화는 DeviceService 의 write-through (적재 중 먼저 들어온 write-through 가 이김)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeviceRegistryLoader implements ApplicationRunner {
+
+    private final StringRedisTemplate redis;
+    private final DeviceRegistry registry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${device.registry.warmup.threads:4}")
+    private int threads;
+    @Value("${device.registry.warmup.batch:500}")
+    private int batch;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Gauge.builder("device.registry.size", registry, DeviceRegistry::size).register(meterRegistry);
+
+        long start = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("device-warmup-"));
+        List<Future<?>> jobs = new ArrayList<>();
+        int scanned = 0;
+
+        try (Cursor<String> keys = redis.scan(ScanOptions.scanOptions().match("device:*").count(1000).build())) {
+            List<String> chunk = new ArrayList<>(batch);
+            while (keys.hasNext()) {
+                chunk.add(keys.next());
+                scanned++;
+                if (chunk.size() >= batch) {
+                    List<String> toLoad = chunk;
+                    jobs.add(pool.submit(() -> loaded.addAndGet(load(toLoad))));
+                    chunk = new ArrayList<>(batch);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                List<String> toLoad = chunk;
+                jobs.add(pool.submit(() -> loaded.addAndGet(load(toLoad))));
+            }
+            for (Future<?> f : jobs) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("device registry warm-up interrupted");
+        } catch (Exception e) {
+            // 기동은 계속 (이후 /locate, /register 로 채워짐)
+            log.error("device registry warm-up failed", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long tookNanos = System.nanoTime() - start;
+        Timer.builder("device.registry.warmup").register(meterRegistry)
+                .record(tookNanos, TimeUnit.NANOSECONDS);
+        Gauge.builder("device.registry.warmup.devices", loaded, AtomicInteger::get).register(meterRegistry);
+        log.info("device registry warm-up: keys={} devices={} took={}ms",
+                scanned, loaded.get(), tookNanos / 1_000_000);
+    }
+
+    /** 키 묶음을 파이프라인 HGETALL 1번으로 읽어 레지스트리에 적재 @return 실제로 적재한 디바이스 수 */
+    private int load(List<String> keys) {
+        List<Object> rows = redis.executePipelined((RedisCallback<Object>) conn -> {
+            StringRedisConnection sc = (StringRedisConnection) conn;
+            for (String k : keys) sc.hGetAll(k);
+            return null;
+        });
+
+        int n = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (!(rows.get(i) instanceof Map<?, ?> h) || h.isEmpty()) continue;
+            String deviceId = keys.get(i).substring("device:".length());
+            String token = (String) h.get("fcm");
+            Double lat = parseDouble(h.get("lastLat"));
+            Double lon = parseDouble(h.get("lastLon"));
+            boolean applied;
+            if (lat != null && lon != null) {
+                Long ts = parseLong(h.get("lastTs"));
+                // 스냅샷을 읽는 사이 write-through 로 더 최신 위치가 들어왔으면 건너뜀
+                applied = registry.upsertIfNewer(deviceId, token, lat, lon, ts == null ? 0 : ts);
+            } else if (token != null) {
+                applied = registry.updateTokenIfAbsent(deviceId, token);
+            } else {
+                continue;
+            }
+            if (applied) n++;
+        }
+        return n;
+    }
+
+    private static Double parseDouble(Object v) {
+        if (v == null) return null;
+        try { return Double.parseDouble(v.toString()); } catch (NumberFormatException e) { return null; }
+    }
+
+    private static Long parseLong(Object v) {
+        if (v == null) return null;
+        try { return Long.parseLong(v.toString()); } catch (NumberFormatException e) { return null; }
+    }
+}
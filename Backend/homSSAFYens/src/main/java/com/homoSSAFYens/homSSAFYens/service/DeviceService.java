@@ -10,13 +10,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class DeviceService {
 
     private final StringRedisTemplate redis;
+    private final DeviceRegistry deviceRegistry;
+    private final OffsetService offsetService;
 
     public void register(String deviceId, String fcm) {
         Map<String, String> h = new HashMap<>();
@@ -24,13 +28,44 @@ public class DeviceService {
         h.put("fcm", fcm);
 
         redis.opsForHash().putAll(Keys.device(deviceId), h);
+        deviceRegistry.updateToken(deviceId, fcm); // write-through
 
     }
 
+    /** 마지막 위치 저장 (HSET 1번) */
     public void updateLastLocation(String deviceId, String geoKey, double lat, double lon, long ts) {
-        redis.opsForHash().put(Keys.device(deviceId), "geoKey", geoKey);
-        redis.opsForHash().put(Keys.device(deviceId), "lastLat", String.valueOf(lat));
-        redis.opsForHash().put(Keys.device(deviceId), "lastLon", String.valueOf(lon));
-        redis.opsForHash().put(Keys.device(deviceId), "lastTs", String.valueOf(ts));
+        Map<String, String> h = new HashMap<>();
+        h.put("geoKey", geoKey);
+        h.put("lastLat", String.valueOf(lat));
+        h.put("lastLon", String.valueOf(lon));
+        h.put("lastTs", String.valueOf(ts));
+        redis.opsForHash().putAll(Keys.device(deviceId), h);
+        deviceRegistry.upsert(deviceId, null, lat, lon, ts); // write-through (토큰은 유지)
+    }
+
+    /** 지난 예약 지문과 비교 결과 */
+    public record PlanCheck(String fingerprint, boolean unchanged) {}
+
+    /**
+     * 예약 지문 = geoKey | 예약할 만조 계획 해시 (tideTs + 셀 동적 오프셋) | 디바이스 offsets 해시
+     * - 실제로 예약할 내용에서 만들므로 만조가 지나 다음 만조(내일 새벽 포함)로 넘어가거나
+     *   셀 계획의 동적 오프셋이 다시 계산되면 지문이 바뀌어 재예약됨
+     * - device 해시 HMGET 1번으로 판단
+     */
+    public PlanCheck checkPlan(String deviceId, String geoKey, List<CellPlanService.HighPlan> highs) {
+        List<Object> v = redis.opsForHash().multiGet(Keys.device(deviceId), List.of("planFp", "offsets"));
+        int planHash = 1;
+        for (CellPlanService.HighPlan h : highs) {
+            planHash = 31 * planHash + Long.hashCode(h.tideTs());
+            planHash = 31 * planHash + Objects.hashCode(h.offsets());
+        }
+        String fp = geoKey + "|" + Integer.toHexString(planHash)
+                + "|" + Integer.toHexString(offsetService.resolve((String) v.get(1)).hashCode());
+        return new PlanCheck(fp, fp.equals(v.get(0)));
+    }
+
+    /** 예약이 끝난 뒤 지문 기록 */
+    public void markPlanned(String deviceId, String fingerprint) {
+        redis.opsForHash().put(Keys.device(deviceId), "planFp", fingerprint);
     }
 }
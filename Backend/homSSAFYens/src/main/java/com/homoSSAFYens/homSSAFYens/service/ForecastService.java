@@ -4,25 +4,31 @@ import com.homoSSAFYens.homSSAFYens.client.ForecastApiClient;
 import com.homoSSAFYens.homSSAFYens.common.GeoKeyUtil;
 import com.homoSSAFYens.homSSAFYens.dto.*;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
 @Service
-public class ForecastService {
+public class ForecastService implements PrefetchSource {
 
     private final ForecastApiClient forecastApiClient;
     private final CacheService cacheService;
+    private final HotKeyTracker hotKeys;
 
     private static final int GEO_DECIMALS = 2;
     private static final Duration TTL = Duration.ofMinutes(10);
+    private static final CachePolicy POLICY = CachePolicy.of(TTL, Duration.ofMinutes(30)); // 10m 지나면 stale 반환 + 뒤에서 갱신
 
 
     public ForecastService(ForecastApiClient forecastApiClient,
-                           CacheService cacheService) {
+                           CacheService cacheService,
+                           HotKeyTracker hotKeys) {
         this.forecastApiClient = forecastApiClient;
         this.cacheService = cacheService;
+        this.hotKeys = hotKeys;
     }
 
     /**
@@ -30,25 +36,43 @@ public class ForecastService {
      */
     public ForecastResponse getForecastInfo(double lat, double lon){
 
-        final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
-        final String key = "forecast:" + geo + ":" + GeoKeyUtil.dayKST();
+        hotKeys.record(this, lat, lon);
+        final String key = cacheKey(lat, lon, GeoKeyUtil.todayKST());
 
         // 1) 캐시 히트 시 바로 반환
-        ForecastResponse cached = cacheService.get(key, ForecastResponse.class);
-        if (cached != null) return cached;
-
-        // 2) 원본 호출 → 매핑
-        List<ForecastExternalDto> ext = extOrEmpty(forecastApiClient.getForecast(lat, lon));
-        ForecastResponse resp = ForecastMapper.toResponse(ext);
-
-        // 3) 캐시 저장 (데이터 있으면 정상 캐시, 없으면 네거티브 캐시)
-        if (ext.isEmpty()) {
-            // 빈 결과도 캐시하고 싶다면 setNull 사용(짧은 TTL) — 트래픽 폭주 방지용
-            //cacheService.setNull(key, Duration.ofSeconds(5));
-        } else {
-            cacheService.set(key, resp, TTL); // 10분
-        }
-        return resp;
+        // 2) 원본 호출 → 매핑 (동시 미스는 키당 1번)
+        // 3) 캐시 저장 (데이터 있으면 정상 캐시, 10분)
+        //    빈 결과도 캐시하고 싶다면 setNull 사용(짧은 TTL) — 트래픽 폭주 방지용
+        return cacheService.getOrLoad(key, ForecastResponse.class, POLICY,
+                () -> ForecastMapper.toResponse(extOrEmpty(forecastApiClient.getForecast(lat, lon))),
+                resp -> resp.days() != null && !resp.days().isEmpty());
+    }
+
+    /** getForecastInfo 논블로킹 버전 */
+    public Mono<ForecastResponse> getForecastInfoMono(double lat, double lon) {
+        hotKeys.record(this, lat, lon);
+        return cacheService.getOrLoadMono(cacheKey(lat, lon, GeoKeyUtil.todayKST()), ForecastResponse.class, POLICY,
+                () -> forecastApiClient.getForecastMono(lat, lon)
+                        .defaultIfEmpty(Collections.emptyList())
+                        .map(ForecastMapper::toResponse),
+                resp -> resp.days() != null && !resp.days().isEmpty());
+    }
+
+    // --- 선로딩 (CachePrefetcher) ---
+    @Override public String kind() { return "forecast"; }
+    @Override public int geoDecimals() { return GEO_DECIMALS; }
+
+    @Override
+    public String cacheKey(double lat, double lon, LocalDate day) {
+        return "forecast:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST(day);
+    }
+
+    @Override
+    public boolean prefetch(double lat, double lon, LocalDate day) {
+        ForecastResponse resp = ForecastMapper.toResponse(extOrEmpty(forecastApiClient.getForecast(lat, lon)));
+        if (resp.days() == null || resp.days().isEmpty()) return false;
+        cacheService.set(cacheKey(lat, lon, day), resp, POLICY);
+        return true;
     }
 
     private static List<ForecastExternalDto> extOrEmpty(List<ForecastExternalDto> ext) {
@@ -0,0 +1,107 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.common.CountMinSketch;
+import com.homoSSAFYens.homSSAFYens.common.GeoKeyUtil;
+import com.homoSSAFYens.homSSAFYens.config.CacheProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 요청 많은 셀 추적 (노드 로컬)
+ * - 빈도: Count-Min sketch (kind|geoKey), 10분마다 절반 감쇠 → 최근 인기 위주
+ * - 후보: sketch 는 키를 못 꺼내므로 추정치가 문턱 이상인 셀만 후보 맵에 (최대 capacity 개)
+ *   꽉 차면 가장 낮은 후보를 밀어내야 입장, 감쇠 때 추정치 순으로 capacity 개만 남기고 남은 것 중 최솟값을 다음 입장 문턱으로
+ */
+@Component
+public class HotKeyTracker {
+
+    /** 후보 셀 (선로딩은 격자 중심 좌표로) */
+    public record Cell(String kind, String geoKey, double lat, double lon) {}
+
+    private final CountMinSketch sketch;
+    private final Map<String, Cell> candidates = new ConcurrentHashMap<>();
+    private final int capacity;
+    private volatile int admitFloor = 0;
+
+    public HotKeyTracker(CacheProperties props) {
+        CacheProperties.Prefetch p = props.getPrefetch();
+        this.sketch = new CountMinSketch(p.getSketchWidth(), p.getSketchDepth());
+        this.capacity = Math.max(64, p.getTopN() * 8);
+    }
+
+    public void record(PrefetchSource source, double lat, double lon) {
+        int d = source.geoDecimals();
+        String geoKey = GeoKeyUtil.geoKey(lat, lon, d);
+        String id = source.kind() + "|" + geoKey;
+        int est = sketch.add(id);
+        if (est < admitFloor || candidates.containsKey(id)) return;
+        admit(id, est, new Cell(source.kind(), geoKey, GeoKeyUtil.round(lat, d), GeoKeyUtil.round(lon, d)));
+    }
+
+    /**
+     * 후보 입장 (capacity 초과 금지)
+     * - 자리가 있으면 그냥 넣음
+     * - 꽉 찼으면 추정치가 가장 낮은 후보보다 높을 때만 그것을 밀어내고 넣음, 문턱은 밀려난 추정치로 올림
+     *   (꽉 찬 동안에는 문턱을 넘는 새 셀만 여기까지 오므로 훑기 횟수가 제한됨)
+     */
+    private void admit(String id, int est, Cell cell) {
+        synchronized (candidates) {
+            if (candidates.containsKey(id)) return;
+            if (candidates.size() < capacity) {
+                candidates.put(id, cell);
+                return;
+            }
+            if (est <= admitFloor) return;
+
+            String minId = null;
+            int minEst = Integer.MAX_VALUE;
+            for (String k : candidates.keySet()) {
+                int e = sketch.estimate(k);
+                if (e < minEst) {
+                    minEst = e;
+                    minId = k;
+                }
+            }
+            if (minId != null && est > minEst) {
+                candidates.remove(minId);
+                candidates.put(id, cell);
+            }
+            admitFloor = Math.max(admitFloor, Math.min(minEst, est));
+        }
+    }
+
+    /** kind 의 상위 n 개 (추정 빈도 내림차순) */
+    public List<Cell> top(String kind, int n) {
+        return candidates.entrySet().stream()
+                .filter(e -> e.getValue().kind().equals(kind))
+                .map(e -> Map.entry(e.getValue(), sketch.estimate(e.getKey())))
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<Cell, Integer>comparingByValue().reversed())
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** 감쇠 + 후보 정리 */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void decay() {
+        sketch.halve();
+
+        List<Map.Entry<String, Integer>> ranked = candidates.keySet().stream()
+                .map(id -> Map.entry(id, sketch.estimate(id)))
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .toList();
+        synchronized (candidates) {
+            for (int i = 0; i < ranked.size(); i++) {
+                Map.Entry<String, Integer> e = ranked.get(i);
+                if (i >= capacity || e.getValue() == 0) candidates.remove(e.getKey());
+            }
+            admitFloor = ranked.size() >= capacity ? ranked.get(capacity - 1).getValue() : 0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.common.GeoKeyUtil;
+import com.homoSSAFYens.homSSAFYens.dto.CurrentResponse;
+import com.homoSSAFYens.homSSAFYens.dto.FineDustResponse;
+import com.homoSSAFYens.homSSAFYens.dto.ForecastResponse;
+import com.homoSSAFYens.homSSAFYens.dto.MarineDashboardResponse;
+import com.homoSSAFYens.homSSAFYens.dto.PointResponse;
+import com.homoSSAFYens.homSSAFYens.dto.TempInfo;
+import com.homoSSAFYens.homSSAFYens.dto.TideDailyInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 해양 대시보드: 조석/수온/날씨/예보/미세먼지/포인트 6개 소스를 한 번에
+ * 1) 6개 캐시 키를 Redis MGET 1번으로 (L1 히트는 네트워크 없이)
+ * 2) 미스/stale 소스만 각 서비스 메서드로 병렬 호출 (기존 single-flight·stale 반환·캐시 저장 그대로)
+ * 3) 소스별 timeout 지나면 그 소스만 null + status=timeout 으로 응답
+ *    (호출 자체는 계속 돌아 캐시를 채움 → 다음 요청은 hit)
+ *    실행 풀이 포화라 거절되면 그 소스만 status=error
+ */
+@Slf4j
+@Service
+public class MarineDashboardService {
+
+    /** 소스 1개: 이름, 캐시 키, 값 타입, 원본(서비스) 호출, timeout */
+    private record Source(String name, String key, Class<?> type, Supplier<?> loader, long timeoutMs) {}
+
+    private final TideService tideService;
+    private final TempService tempService;
+    private final CurrentService currentService;
+    private final ForecastService forecastService;
+    private final AirService airService;
+    private final PointService pointService;
+    private final CacheService cacheService;
+    private final TaskExecutor executor;
+
+    @Value("${dashboard.timeout.tide-ms:2000}")
+    private long tideTimeoutMs;
+    @Value("${dashboard.timeout.temp-ms:2000}")
+    private long tempTimeoutMs;
+    @Value("${dashboard.timeout.current-ms:2000}")
+    private long currentTimeoutMs;
+    @Value("${dashboard.timeout.forecast-ms:3000}")
+    private long forecastTimeoutMs;
+    @Value("${dashboard.timeout.air-ms:4000}") // SGIS 토큰 → 좌표 변환 → 측정소 → 측정값 체인
+    private long airTimeoutMs;
+    @Value("${dashboard.timeout.point-ms:2000}")
+    private long pointTimeoutMs;
+
+    public MarineDashboardService(TideService tideService,
+                                  TempService tempService,
+                                  CurrentService currentService,
+                                  ForecastService forecastService,
+                                  AirService airService,
+                                  PointService pointService,
+                                  CacheService cacheService,
+                                  @Qualifier("dashboardExecutor") TaskExecutor executor) {
+        this.tideService = tideService;
+        this.tempService = tempService;
+        this.currentService = currentService;
+        this.forecastService = forecastService;
+        this.airService = airService;
+        this.pointService = pointService;
+        this.cacheService = cacheService;
+        this.executor = executor;
+    }
+
+    public MarineDashboardResponse get(double lat, double lon) {
+        List<Source> sources = List.of(
+                new Source("tide", tideService.dailyKey(lat, lon, GeoKeyUtil.todayKST()), TideDailyInfo.class,
+                        () -> tideService.getDaily(lat, lon), tideTimeoutMs),
+                new Source("temp", tempService.nearestKey(lat, lon), TempInfo.class,
+                        () -> tempService.getTempInfo(lat, lon), tempTimeoutMs),
+                new Source("current", currentService.currentKey(lat, lon), CurrentResponse.class,
+                        () -> currentService.getCurrentInfo(lat, lon), currentTimeoutMs),
+                new Source("forecast", forecastService.cacheKey(lat, lon, GeoKeyUtil.todayKST()), ForecastResponse.class,
+                        () -> forecastService.getForecastInfo(lat, lon), forecastTimeoutMs),
+                new Source("air", airService.cacheKey(lat, lon), FineDustResponse.class,
+                        () -> airService.getAirInfo(lat, lon), airTimeoutMs),
+                new Source("point", pointService.cacheKey(lat, lon), PointResponse.class,
+                        () -> pointService.getPointList(lat, lon), pointTimeoutMs));
+
+        // 1) MGET 1번
+        Map<String, Class<?>> types = new LinkedHashMap<>();
+        for (Source s : sources) types.put(s.key(), s.type());
+        Map<String, Object> cached;
+        try {
+            cached = cacheService.getFresh(types);
+        } catch (Exception e) {
+            log.warn("dashboard MGET failed, falling back to per-source loads", e);
+            cached = Map.of();
+        }
+
+        // 2) 미스만 병렬 호출
+        Map<String, CompletableFuture<?>> pending = new LinkedHashMap<>();
+        for (Source s : sources) {
+            if (cached.containsKey(s.key())) continue;
+            CompletableFuture<?> f;
+            try {
+                f = CompletableFuture.supplyAsync(s.loader(), executor);
+            } catch (RejectedExecutionException e) {
+                // 풀 포화: 요청 스레드에서 직접 부르지 않고 이 소스만 실패 처리
+                f = CompletableFuture.failedFuture(e);
+            }
+            pending.put(s.name(), f.orTimeout(s.timeoutMs(), TimeUnit.MILLISECONDS));
+        }
+
+        // 3) 모으기 (가장 긴 timeout 이면 끝남)
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, String> status = new LinkedHashMap<>();
+        for (Source s : sources) {
+            Object v = cached.get(s.key());
+            if (v != null) {
+                values.put(s.name(), v);
+                status.put(s.name(), "hit");
+                continue;
+            }
+            try {
+                v = pending.get(s.name()).join();
+                if (v != null) values.put(s.name(), v);
+                status.put(s.name(), v != null ? "loaded" : "empty");
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    log.warn("dashboard source {} timed out after {}ms (lat={}, lon={})", s.name(), s.timeoutMs(), lat, lon);
+                    status.put(s.name(), "timeout");
+                } else {
+                    log.warn("dashboard source {} failed (lat={}, lon={})", s.name(), lat, lon, e.getCause());
+                    status.put(s.name(), "error");
+                }
+            }
+        }
+
+        return new MarineDashboardResponse(
+                (TideDailyInfo) values.get("tide"),
+                (TempInfo) values.get("temp"),
+                (CurrentResponse) values.get("current"),
+                (ForecastResponse) values.get("forecast"),
+                (FineDustResponse) values.get("air"),
+                (PointResponse) values.get("point"),
+                status);
+    }
+}
@@ -0,0 +1,165 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.homoSSAFYens.homSSAFYens.config.CacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Redis 앞단 in-process L1 캐시 (near cache).
+ * - prefix(키의 첫 ':' 앞) 별로 Caffeine 캐시를 따로 두고 크기/TTL 을 따로 준다
+ * - 값은 역직렬화된 객체 그대로 보관 → 히트 시 네트워크/Jackson 비용 없음
+ * - 다른 노드가 같은 키를 덮어쓰면 pub/sub 으로 받아 내 L1 에서 지운다
+ * - 무효화 세대: Redis 읽기/쓰기 전에 잡은 세대가 적재 시점에 바뀌었으면 (그 사이 무효화) 적재를 되돌림
+ *   → 무효화 전에 시작한 읽기가 옛 값을 L1 TTL 내내 박아두는 레이스 방지
+ * - 지표: /actuator/metrics/cache.gets?tag=cache:near.tide7d (result=hit|miss), cache.evictions
+ */
+@Slf4j
+@Component
+public class NearCache implements MessageListener {
+
+    /** 엔트리별 TTL 을 들고 다니기 위한 래퍼 */
+    private record Entry(Object value, long ttlNanos) {}
+
+    /** 세대 스트라이프 수 (키 해시로 나눔, 다른 키 무효화와 겹치면 적재만 한 번 건너뜀) */
+    private static final int GEN_STRIPES = 1024;
+
+    private final CacheProperties.Near props;
+    private final StringRedisTemplate redis;
+    private final MeterRegistry meterRegistry;
+
+    /** 무효화 메시지에서 내가 보낸 건 걸러내기 위한 노드 식별자 */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Cache<String, Entry>> tiers = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GEN_STRIPES);
+
+    public NearCache(CacheProperties props, StringRedisTemplate redis, MeterRegistry meterRegistry) {
+        this.props = props.getNear();
+        this.redis = redis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Object get(String key) {
+        Cache<String, Entry> tier = tierFor(key);
+        if (tier == null) return null;
+        Entry e = tier.getIfPresent(key);
+        return e == null ? null : e.value();
+    }
+
+    /** 무효화 세대. Redis 읽기/쓰기 직전에 잡아서 put 에 넘긴다 */
+    public long generation(String key) {
+        return generations.get(stripe(key));
+    }
+
+    /** Redis 에서 읽어온 값 적재 (Redis 잔여 TTL 을 모르니 prefix TTL 사용) */
+    public void put(String key, Object value, long generation) {
+        put(key, value, null, generation);
+    }
+
+    /** 직접 저장한 값 적재. L1 TTL 은 min(prefix TTL, Redis TTL) */
+    public void put(String key, Object value, Duration redisTtl, long generation) {
+        if (value == null) return;
+        Cache<String, Entry> tier = tierFor(key);
+        if (tier == null) return;
+
+        Duration ttl = props.getPrefixes().get(prefixOf(key)).getTtl();
+        if (redisTtl != null && !redisTtl.isNegative() && !redisTtl.isZero() && redisTtl.compareTo(ttl) < 0) {
+            ttl = redisTtl;
+        }
+        tier.put(key, new Entry(value, ttl.toNanos()));
+
+        // 넣기 전후로 무효화가 지나갔으면 방금 넣은 값이 옛 값일 수 있음 → 걷어냄
+        // (invalidateLocal 은 세대를 먼저 올리고 지우므로, 어느 순서로 겹쳐도 둘 중 하나가 지움)
+        if (generations.get(stripe(key)) != generation) tier.invalidate(key);
+    }
+
+    /** 내 L1 에서만 제거 */
+    public void invalidateLocal(String key) {
+        generations.incrementAndGet(stripe(key));
+        Cache<String, Entry> tier = tierFor(key);
+        if (tier != null) tier.invalidate(key);
+    }
+
+    /** 다른 노드 L1 에도 제거 요청 (Redis 에 새 값을 쓴 직후 호출) */
+    public void publishInvalidation(String key) {
+        String msg = invalidationMessage(key);
+        if (msg == null) return;
+        try {
+            redis.convertAndSend(props.getChannel(), msg);
+        } catch (Exception e) {
+            // 발행 실패해도 L1 TTL 이 짧게 잡혀 있어 결국 수렴함
+            log.warn("near-cache invalidation publish failed key={}", key, e);
+        }
+    }
+
+    /** 무효화 메시지 "nodeId|key" (L1 대상 prefix 가 아니면 null) — 리액티브 발행 경로용 */
+    public String invalidationMessage(String key) {
+        if (!props.isEnabled() || !props.getPrefixes().containsKey(prefixOf(key))) return null;
+        return nodeId + "|" + key;
+    }
+
+    /** pub/sub 수신: "nodeId|key" */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf('|');
+        if (sep < 0) return;
+        if (nodeId.equals(body.substring(0, sep))) return; // 내가 보낸 것
+        invalidateLocal(body.substring(sep + 1));
+    }
+
+    public String getChannel() {
+        return props.getChannel();
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % GEN_STRIPES;
+    }
+
+    static String prefixOf(String key) {
+        int i = key.indexOf(':');
+        return i < 0 ? key : key.substring(0, i);
+    }
+
+    private Cache<String, Entry> tierFor(String key) {
+        if (!props.isEnabled()) return null;
+        String prefix = prefixOf(key);
+        CacheProperties.Tier spec = props.getPrefixes().get(prefix);
+        if (spec == null) return null;
+        return tiers.computeIfAbsent(prefix, p -> build(p, spec));
+    }
+
+    private Cache<String, Entry> build(String prefix, CacheProperties.Tier spec) {
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String k, Entry v, long now) { return v.ttlNanos(); }
+                    @Override
+                    public long expireAfterUpdate(String k, Entry v, long now, long cur) { return v.ttlNanos(); }
+                    @Override
+                    public long expireAfterRead(String k, Entry v, long now, long cur) { return cur; }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "near." + prefix);
+        log.info("near-cache tier created prefix={} maxSize={} ttl={}", prefix, spec.getMaxSize(), spec.getTtl());
+        return cache;
+    }
+}
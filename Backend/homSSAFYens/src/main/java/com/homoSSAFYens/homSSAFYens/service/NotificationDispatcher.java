@@ -0,0 +1,353 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.IncomingHttpResponse;
+import com.google.firebase.messaging.AndroidConfig;
+import com.google.firebase.messaging.AndroidNotification;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import com.homoSSAFYens.homSSAFYens.client.FcmClient;
+import com.homoSSAFYens.homSSAFYens.repo.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FCM 발송 디스패처
+ * - enqueue 는 큐에 넣고 바로 반환 (Quartz/요청 스레드가 FCM 응답을 기다리지 않음)
+ * - 디스패처 스레드가 linger 동안 모아 최대 500개씩 sendEach → fcmDispatchExecutor 에서 전송
+ * - 429/5xx 는 지수 백오프(+지터, Retry-After 우선)로 maxAttempts 까지 재시도
+ * - UNREGISTERED 토큰은 device:<id> 해시의 fcm 필드와 DeviceRegistry 에서 제거 (그 사이 새 토큰으로 바뀌었으면 유지)
+ * - 종료 시 큐에 남은 메시지는 shutdown-timeout 안에서 마저 보냄 (재시도 대기분/시간 초과분은 버림)
+ * - 지표: fcm.dispatch{result=ok|retry|unregistered|failed|dropped}
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    /** 보낼 메시지 1건 (title 이 있으면 notification 메시지, 없으면 data-only) */
+    public record Push(String deviceId, String token, Map<String, String> data,
+                       String title, String body, String channelId) {
+
+        public static Push data(String deviceId, String token, Map<String, String> data) {
+            return new Push(deviceId, token, data, null, null, null);
+        }
+
+        public static Push notification(String deviceId, String token, String title, String body,
+                                        String channelId, Map<String, String> data) {
+            return new Push(deviceId, token, data, title, body, channelId);
+        }
+
+        Message toMessage() {
+            AndroidConfig.Builder android = AndroidConfig.builder().setPriority(AndroidConfig.Priority.HIGH);
+            Message.Builder b = Message.builder().setToken(token);
+            if (data != null) b.putAllData(data);
+            if (title != null) {
+                b.setNotification(Notification.builder().setTitle(title).setBody(body).build());
+                if (channelId != null) {
+                    android.setNotification(AndroidNotification.builder().setChannelId(channelId).build());
+                }
+            }
+            return b.setAndroidConfig(android.build()).build();
+        }
+    }
+
+    /** 큐 원소: 메시지 + 지금까지 시도 횟수 */
+    private record Attempt(Push push, int attempt) {}
+
+    /** 토큰이 그대로일 때만 지움 (재등록 레이스 방지) */
+    private static final RedisScript<Long> DEL_TOKEN_IF_SAME = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[1], 'fcm') == ARGV[1] then " +
+            "  return redis.call('HDEL', KEYS[1], 'fcm') " +
+            "end return 0",
+            Long.class);
+
+    private final FcmClient fcm;
+    private final StringRedisTemplate redis;
+    private final DeviceRegistry registry;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fcm.dispatch.queue-capacity:20000}")
+    private int queueCapacity;
+    @Value("${fcm.dispatch.linger:200ms}")
+    private Duration linger;
+    @Value("${fcm.dispatch.max-attempts:4}")
+    private int maxAttempts;
+    @Value("${fcm.dispatch.backoff:1s}")
+    private Duration backoff;
+    @Value("${fcm.dispatch.max-backoff:30s}")
+    private Duration maxBackoff;
+    @Value("${fcm.dispatch.shutdown-timeout:10s}")
+    private Duration shutdownTimeout;
+
+    private BlockingQueue<Attempt> queue;
+    private Thread drainer;
+    private ScheduledExecutorService retryTimer;
+    private volatile boolean running;
+
+    public NotificationDispatcher(FcmClient fcm,
+                                  StringRedisTemplate redis,
+                                  DeviceRegistry registry,
+                                  @Qualifier("fcmDispatchExecutor") Executor executor,
+                                  MeterRegistry meterRegistry) {
+        this.fcm = fcm;
+        this.redis = redis;
+        this.registry = registry;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        retryTimer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("fcm-retry-"));
+        running = true;
+        drainer = new CustomizableThreadFactory("fcm-drain-").newThread(this::drainLoop);
+        drainer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        running = false;
+        retryTimer.shutdownNow();
+
+        // 1) 디스패처 스레드는 linger 안에 루프를 빠져나옴 (모으던 묶음은 넘기고 끝남)
+        //    실행기가 꽉 차면 CallerRuns 로 sendBatch 를 직접 돌고 있을 수 있음 → 종료 제한 시간 전체까지 기다림
+        try {
+            drainer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (drainer.isAlive()) drainer.interrupt();
+
+        // 2) 남은 큐를 제한 시간 안에서 이 스레드로 직접 전송
+        List<Attempt> batch = new ArrayList<>(FcmClient.BATCH_LIMIT);
+        int flushed = 0;
+        while (System.nanoTime() < deadline && queue.drainTo(batch, FcmClient.BATCH_LIMIT) > 0) {
+            flushed += batch.size();
+            sendBatch(List.copyOf(batch));
+            batch.clear();
+        }
+        int left = queue.size();
+        queue.clear();
+        count("dropped", left);
+        log.info("fcm dispatcher stopped flushed={} dropped={}", flushed, left);
+    }
+
+    /** @return 큐가 꽉 차서 버렸으면 false */
+    public boolean enqueue(Push push) {
+        if (push.token() == null || push.token().isBlank()) return false;
+        if (queue.offer(new Attempt(push, 0))) return true;
+        count("dropped", 1);
+        log.warn("fcm queue full, dropped device={}", push.deviceId());
+        return false;
+    }
+
+    public int enqueueAll(Collection<Push> pushes) {
+        int n = 0;
+        for (Push p : pushes) if (enqueue(p)) n++;
+        return n;
+    }
+
+    // ===== 묶기 =====
+
+    private void drainLoop() {
+        List<Attempt> batch = new ArrayList<>(FcmClient.BATCH_LIMIT);
+        while (running) {
+            try {
+                Attempt first = queue.poll(linger.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // linger 동안 더 모아서 최대 500개
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < FcmClient.BATCH_LIMIT) {
+                    queue.drainTo(batch, FcmClient.BATCH_LIMIT - batch.size());
+                    if (batch.size() >= FcmClient.BATCH_LIMIT) break;
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) break;
+                    Attempt next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                List<Attempt> toSend = List.copyOf(batch);
+                batch.clear();
+                executor.execute(() -> sendBatch(toSend));
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("fcm dispatch loop error", e);
+                batch.clear();
+            }
+        }
+    }
+
+    // ===== 전송 =====
+
+    private void sendBatch(List<Attempt> batch) {
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (Attempt a : batch) messages.add(a.push().toMessage());
+
+        BatchResponse res;
+        try {
+            res = fcm.sendEach(messages);
+        } catch (FirebaseMessagingException e) {
+            // 묶음 전체 실패 (인증/네트워크/쿼터)
+            if (isRetryable(e)) {
+                retry(batch, retryAfter(e));
+            } else {
+                count("failed", batch.size());
+                log.error("fcm batch failed size={}", batch.size(), e);
+            }
+            return;
+        } catch (Exception e) {
+            count("failed", batch.size());
+            log.error("fcm batch error size={}", batch.size(), e);
+            return;
+        }
+
+        List<SendResponse> rs = res.getResponses();
+        List<Attempt> again = new ArrayList<>();
+        Duration after = null;
+        int unregistered = 0;
+        int failed = 0;
+        for (int i = 0; i < rs.size(); i++) {
+            SendResponse r = rs.get(i);
+            if (r.isSuccessful()) continue;
+
+            Attempt a = batch.get(i);
+            FirebaseMessagingException ex = r.getException();
+            if (ex != null && ex.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
+                removeToken(a.push());
+                unregistered++;
+            } else if (ex != null && isRetryable(ex)) {
+                again.add(a);
+                Duration ra = retryAfter(ex);
+                if (ra != null && (after == null || ra.compareTo(after) > 0)) after = ra;
+            } else {
+                failed++;
+                log.warn("fcm send failed device={} code={}", a.push().deviceId(),
+                        ex == null ? null : ex.getMessagingErrorCode());
+            }
+        }
+
+        count("ok", res.getSuccessCount());
+        count("unregistered", unregistered);
+        count("failed", failed);
+        if (!again.isEmpty()) retry(again, after);
+        log.info("fcm batch size={} ok={} retry={} unregistered={} failed={}",
+                batch.size(), res.getSuccessCount(), again.size(), unregistered, failed);
+    }
+
+    /** 429 / 5xx 계열만 재시도 */
+    private static boolean isRetryable(FirebaseMessagingException e) {
+        MessagingErrorCode mc = e.getMessagingErrorCode();
+        if (mc == MessagingErrorCode.QUOTA_EXCEEDED
+                || mc == MessagingErrorCode.UNAVAILABLE
+                || mc == MessagingErrorCode.INTERNAL) return true;
+        ErrorCode ec = e.getErrorCode();
+        return ec == ErrorCode.RESOURCE_EXHAUSTED
+                || ec == ErrorCode.UNAVAILABLE
+                || ec == ErrorCode.INTERNAL
+                || ec == ErrorCode.DEADLINE_EXCEEDED;
+    }
+
+    /** Retry-After 헤더(초) */
+    private static Duration retryAfter(FirebaseMessagingException e) {
+        IncomingHttpResponse resp = e.getHttpResponse();
+        if (resp == null || resp.getHeaders() == null) return null;
+        Object v = resp.getHeaders().get("retry-after");
+        if (v instanceof List<?> l && !l.isEmpty()) v = l.get(0);
+        if (v == null) return null;
+        try {
+            return Duration.ofSeconds(Long.parseLong(v.toString().trim()));
+        } catch (NumberFormatException ignore) {
+            return null;
+        }
+    }
+
+    /** 시도 횟수별 지수 백오프 + 지터 후 큐에 다시 넣기 (다시 500개 묶음으로 합쳐짐) */
+    private void retry(List<Attempt> failed, Duration retryAfter) {
+        if (!running) { // 종료 중: 재시도 타이머가 없음
+            count("dropped", failed.size());
+            return;
+        }
+        Map<Integer, List<Attempt>> byAttempt = new HashMap<>();
+        int dropped = 0;
+        for (Attempt a : failed) {
+            int next = a.attempt() + 1;
+            if (next >= maxAttempts) {
+                dropped++;
+                continue;
+            }
+            byAttempt.computeIfAbsent(next, k -> new ArrayList<>()).add(new Attempt(a.push(), next));
+        }
+        if (dropped > 0) {
+            count("failed", dropped);
+            log.warn("fcm give up after {} attempts: {}", maxAttempts, dropped);
+        }
+
+        byAttempt.forEach((attempt, list) -> {
+            long base = Math.min(maxBackoff.toMillis(), backoff.toMillis() << (attempt - 1));
+            long delay = base + ThreadLocalRandom.current().nextLong(0, base / 2 + 1);
+            if (retryAfter != null) delay = Math.max(delay, retryAfter.toMillis());
+            count("retry", list.size());
+            try {
+                retryTimer.schedule(() -> {
+                    for (Attempt a : list) {
+                        if (!queue.offer(a)) count("dropped", 1);
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) { // 방금 종료됨
+                count("dropped", list.size());
+            }
+        });
+    }
+
+    private void removeToken(Push p) {
+        if (p.deviceId() == null) return;
+        registry.clearToken(p.deviceId(), p.token()); // write-through (태풍 알림은 레지스트리 토큰 사용)
+        try {
+            redis.execute(DEL_TOKEN_IF_SAME, List.of(Keys.device(p.deviceId())), p.token());
+            log.info("fcm token unregistered, removed device={}", p.deviceId());
+        } catch (Exception e) {
+            log.warn("fcm token remove failed device={}", p.deviceId(), e);
+        }
+    }
+
+    private void count(String result, int n) {
+        if (n > 0) meterRegistry.counter("fcm.dispatch", "result", result).increment(n);
+    }
+}
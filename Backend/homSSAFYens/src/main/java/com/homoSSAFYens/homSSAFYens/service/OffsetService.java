@@ -37,7 +37,11 @@ public class OffsetService {
     }
 
     public List<Integer> forDevice(String deviceId) {
-        String raw = (String) redis.opsForHash().get(Keys.device(deviceId), "offsets");
+        return resolve((String) redis.opsForHash().get(Keys.device(deviceId), "offsets"));
+    }
+
+    /** device 해시의 offsets 원문 → 실제 적용 오프셋 (이미 읽어 둔 값이 있을 때 HGET 없이) */
+    public List<Integer> resolve(String raw) {
         if (raw == null || "null".equals(raw)) return defaults();
         try {
             raw = raw.replace("[","").replace("]","");
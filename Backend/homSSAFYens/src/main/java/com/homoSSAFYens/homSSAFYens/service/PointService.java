@@ -4,6 +4,7 @@ import com.homoSSAFYens.homSSAFYens.client.PointApiClient;
 import com.homoSSAFYens.homSSAFYens.common.GeoKeyUtil;
 import com.homoSSAFYens.homSSAFYens.dto.*;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.List;
@@ -17,6 +18,7 @@ public class PointService {
 
 
     private static final Duration TTL = Duration.ofHours(6);
+    private static final CachePolicy POLICY = CachePolicy.of(TTL, Duration.ofHours(12)); // 6h 지나면 stale 반환 + 뒤에서 갱신
 
     public PointService(PointApiClient pointApiClient,
                         CacheService cacheService) {
@@ -25,48 +27,48 @@ public class PointService {
     }
 
 
+    public String cacheKey(double lat, double lon) {
+        return "point:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST();
+    }
+
     public PointResponse getPointList(double lat, double lon) {
 
-        final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
-        final String key = "point:" + geo + ":" + GeoKeyUtil.dayKST();
+        final String key = cacheKey(lat, lon);
 
 
-        // 1) 캐시 히트 시 바로 반환
-        PointResponse cached = cacheService.get(key, PointResponse.class);
-        if (cached != null) return cached;
+        // 1) 캐시 히트 시 바로 반환 (soft 지나면 stale 반환 + 뒤에서 갱신)
+        // 도그파일 방지: 동시 미스는 getOrLoad(single-flight)가 키당 원본 1번으로 합침
+        return cacheService.getOrLoad(key, PointResponse.class, POLICY, () -> {
+            // 1-1) 직전 '없음' 네거티브 캐시가 있으면 바로 빈 응답
+            if (cacheService.isNull(key)) return new PointResponse(null, List.of());
 
-        // 1-1) 직전 '없음' 네거티브 캐시가 있으면 바로 빈 응답
-        if (cacheService.isNull(key)) {
-            return new PointResponse(null, List.of());
-        }
+            // 2) 원본 호출 → 3) 매핑
+            return toResponse(pointApiClient.getPoint(lat, lon));
+        }, resp -> !resp.points().isEmpty()); // 4) 정상 데이터만 6h 캐시 (없을 땐 저장 안 함)
 
-        // --- (옵션) 도그파일 방지 락 ---
-        // if (!cacheService.tryLock(key, Duration.ofSeconds(5))) {
-        //     PointResponse again = cacheService.get(key, PointResponse.class);
-        //     if (again != null) return again;
-        // }
+    }
 
-        // 2) 원본 호출
-        PointEnvelope env = pointApiClient.getPoint(lat, lon);
+    /** getPointList 논블로킹 버전 (같은 순서) */
+    public Mono<PointResponse> getPointListMono(double lat, double lon) {
+        final String key = cacheKey(lat, lon);
+        return cacheService.getOrLoadMono(key, PointResponse.class, POLICY,
+                () -> cacheService.isNullMono(key)
+                        .flatMap(isNull -> isNull ? Mono.just(new PointResponse(null, List.of()))
+                                : pointApiClient.getPointMono(lat, lon)
+                                        .map(PointService::toResponse)
+                                        .defaultIfEmpty(new PointResponse(null, List.of()))),
+                resp -> !resp.points().isEmpty());
+    }
+
+    private static PointResponse toResponse(PointEnvelope env) {
         if (env == null) {
             //cacheService.setNull(key, Duration.ofSeconds(30)); // 없으면 잠깐만 막아두기
             return new PointResponse(null, List.of());
         }
 
-        // 3) 매핑
         PointInfo info = PointInfoMapper.toDomain(env.info());
         List<PointFishingPoint> points = PointFishingPointMapper.toDomainList(env.fishingPoint());
-        PointResponse resp = new PointResponse(info, points == null ? List.of() : points);
-
-        // 4) 캐시 저장 (데이터 유무에 따라 분기)
-        if (resp.points().isEmpty()) {
-            //cacheService.setNull(key, Duration.ofSeconds(30));     // 없을 땐 짧게
-        } else {
-            cacheService.set(key, resp, TTL);        // 정상 데이터는 6h
-        }
-
-        return resp;
-
+        return new PointResponse(info, points == null ? List.of() : points);
     }
 
 }
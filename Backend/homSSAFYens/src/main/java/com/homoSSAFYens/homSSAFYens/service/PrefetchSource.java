@@ -0,0 +1,32 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import java.time.LocalDate;
+
+/**
+ * 인기 셀 선로딩 대상 (CachePrefetcher)
+ * - 요청 시 HotKeyTracker.record(this, lat, lon) 로 빈도를 남기고
+ * - 선로딩은 prefetch(lat, lon, day) 로 원본 1번 호출 → 그 날짜 키에 저장
+ */
+public interface PrefetchSource {
+
+    /** 종류 이름 (tide, temp, forecast ...) */
+    String kind();
+
+    /** 캐시 키 격자 소수 자릿수 */
+    int geoDecimals();
+
+    /** 대표 캐시 키 (TTL 확인용) */
+    String cacheKey(double lat, double lon, LocalDate day);
+
+    /**
+     * 자정 전에 "내일" 키를 미리 채울지
+     * - hard TTL 이 아침까지 가고, 원본이 내일 날짜 데이터를 주는 종류만 (예: 주간 조석)
+     * - 관측값(수온/예보 등)은 TTL 이 짧아 아침 전에 만료되고, 오늘 관측값이 내일 키에 들어가므로 제외
+     */
+    default boolean prefetchBeforeMidnight() {
+        return false;
+    }
+
+    /** 원본 호출 → day 키에 저장. 저장했으면 true */
+    boolean prefetch(double lat, double lon, LocalDate day);
+}
@@ -0,0 +1,83 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.dto.TideAlert;
+import com.homoSSAFYens.homSSAFYens.quartz.TideNotifyJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Quartz 엔진 (기본값): 셀 알림 1건 = job + trigger (이름 eventId, 그룹 geoKey)
+ * - 셀의 트리거 키를 한 번 읽어 없는 것만 scheduleJobs(map, replace=true) 일괄 호출
+ * - Quartz 객체 수는 디바이스 수가 아니라 활성 셀 × 만조 × 오프셋에 비례
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "alarm.engine", havingValue = "quartz", matchIfMissing = true)
+public class QuartzTideAlertEngine implements TideAlertEngine {
+
+    private final Scheduler scheduler;
+
+    @Override
+    public boolean schedule(List<TideAlert> alerts) {
+        if (alerts.isEmpty()) return true;
+        try {
+            // 셀(geoKey) 별 현재 트리거 (보통 1개 셀)
+            Map<String, Set<TriggerKey>> current = new HashMap<>();
+            Map<JobDetail, Set<? extends Trigger>> toAdd = new LinkedHashMap<>();
+
+            for (TideAlert a : alerts) {
+                Set<TriggerKey> existing = current.get(a.geoKey());
+                if (existing == null) {
+                    existing = scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(a.geoKey()));
+                    current.put(a.geoKey(), existing);
+                }
+                TriggerKey trgKey = TriggerKey.triggerKey(a.eventId(), a.geoKey());
+                if (existing.contains(trgKey)) continue;
+
+                JobKey jobKey = JobKey.jobKey(a.eventId(), a.geoKey());
+                JobDataMap map = new JobDataMap();
+                map.put("tideTs", a.tideTs());
+                map.put("offset", a.offset());
+                map.put("eventId", a.eventId());
+                map.put("geoKey", a.geoKey());
+                map.put("locationName", a.locationName());
+
+                JobDetail job = JobBuilder.newJob(TideNotifyJob.class)
+                        .withIdentity(jobKey)
+                        .usingJobData(map)
+                        .build(); // non-durable: 트리거가 끝나면 잡도 같이 정리됨
+
+                Trigger trigger = TriggerBuilder.newTrigger()
+                        .withIdentity(trgKey)
+                        .forJob(jobKey)
+                        .startAt(Date.from(Instant.ofEpochSecond(a.triggerAt())))
+                        .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                                .withMisfireHandlingInstructionFireNow())
+                        .build();
+                toAdd.put(job, Set.of(trigger));
+            }
+
+            if (toAdd.isEmpty()) return true;
+            scheduler.scheduleJobs(toAdd, true);
+            log.info("cell alerts scheduled +{}", toAdd.size());
+            return true;
+
+        } catch (SchedulerException e) {
+            log.error("schedule error", e);
+            return false;
+        }
+    }
+}
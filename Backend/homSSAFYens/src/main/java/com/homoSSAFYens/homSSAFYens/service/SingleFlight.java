@@ -0,0 +1,441 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 캐시 미스 단일 비행(single-flight) 로더 — 키 하나 미스에 원본 호출은 클러스터 전체에서 1번.
+ * - 노드 안: 같은 키로 동시에 들어온 요청은 먼저 온 요청의 CompletableFuture 에 합류
+ * - 노드 간: Redis 리스(lock:<key>, SET NX PX)를 잡은 노드만 원본 호출,
+ *           나머지는 'cache:filled' 채널 구독으로 채워짐을 기다렸다가 캐시를 다시 읽음
+ * - 팔로워는 원본을 직접 부르지 않는다 (느린 원본에 요청이 몰리는 걸 막음)
+ *   · 리더 결과가 저장 대상이 아님(빈 결과 등) → null
+ *   · 리더 실패 → 실패
+ *   · 신호 없음 → 리더 리스(lock:<key>)가 남아 있으면 계속 기다림 (리더가 느려도 살아 있으면 실패하지 않음)
+ *     리스가 풀렸으면(리더가 죽음/신호 유실) 그 팔로워 하나가 리더가 됨. 최대 lease + wait 까지만
+ * - refreshAsync: soft 만료 값의 백그라운드 갱신도 같은 리스로 키당 1번만
+ * - loadMono / refreshMono: 같은 규칙의 논블로킹 버전 (리스·신호 대기 모두 리액티브, 스레드 안 묶음)
+ */
+@Slf4j
+@Component
+public class SingleFlight implements MessageListener {
+
+    public static final String CHANNEL = "cache:filled";
+
+    /** 채워짐 신호 본문 "key|결과" 의 결과 */
+    private static final String STORED = "stored";
+    private static final String UNCACHED = "uncached";
+    private static final String FAILED = "failed";
+    private static final String NO_SIGNAL = ""; // 대기 타임아웃, 또는 결과 없는 예전 포맷 신호
+
+    /** 토큰이 내 것일 때만 리스 해제 */
+    private static final DefaultRedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ReactiveStringRedisTemplate reactiveRedis;
+    private final Executor refreshExecutor;
+
+    /** 노드 안 진행 중 로딩 */
+    private final Map<String, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+    /** 노드 안 진행 중 로딩 (Mono 경로, 구독자끼리 결과 공유) */
+    private final Map<String, Mono<Object>> inflightMono = new ConcurrentHashMap<>();
+    /** 노드 안 진행 중 백그라운드 갱신 */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    /** 다른 노드 리더를 기다리는 대기자 (완료 값 = 리더 결과) */
+    private final Map<String, CompletableFuture<String>> fillWaiters = new ConcurrentHashMap<>();
+
+    @Value("${cache.single-flight.lease:10s}")
+    private Duration lease;      // 리더 리스 (원본 호출 최대 시간보다 길게)
+
+    @Value("${cache.single-flight.wait:5s}")
+    private Duration wait;       // 팔로워가 신호를 한 번 기다리는 시간 (지나면 리스가 남았는지 확인)
+
+    public SingleFlight(StringRedisTemplate redis,
+                        ReactiveStringRedisTemplate reactiveRedis,
+                        @Qualifier("cacheRefreshExecutor") Executor refreshExecutor) {
+        this.redis = redis;
+        this.reactiveRedis = reactiveRedis;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * @param key       캐시 키
+     * @param reader    캐시 조회 (미스면 null)
+     * @param loader    원본 호출 + 매핑
+     * @param store     결과 저장 (cacheable 일 때만 호출)
+     * @param cacheable 저장할 만한 결과인지 (빈 결과 등은 저장 안 함)
+     * @return 값. 다른 노드 리더의 결과가 저장 대상이 아니었으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> reader, Supplier<T> loader,
+                      Consumer<T> store, Predicate<? super T> cacheable) {
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inflight.putIfAbsent(key, mine);
+
+        // 1) 노드 안에서 이미 로딩 중이면 합류 (대표는 최대 신호 대기 + 리더 1번이면 끝남)
+        if (running != null) {
+            try {
+                // 대표는 최대 (다른 노드 리더 대기 lease + wait) + 자기가 리더 1번(lease)
+                return (T) running.get(remoteWaitMax().plus(lease).toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                T filled = reader.get();
+                if (filled != null) return filled;
+                throw new IllegalStateException("single-flight local wait timeout key=" + key);
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for " + key, e);
+            }
+        }
+
+        // 2) 내가 이 노드의 대표 → 클러스터 단위로 로딩
+        try {
+            T v = loadClusterWide(key, reader, loader, store, cacheable);
+            mine.complete(v);
+            return v;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(key, mine);
+        }
+    }
+
+    private <T> T loadClusterWide(String key, Supplier<T> reader, Supplier<T> loader,
+                                  Consumer<T> store, Predicate<? super T> cacheable) {
+        String leaseKey = "lock:" + key;
+        String token = UUID.randomUUID().toString();
+
+        Boolean acquired = redis.opsForValue().setIfAbsent(leaseKey, token, lease);
+        if (Boolean.TRUE.equals(acquired)) {
+            return lead(key, leaseKey, token, reader, loader, store, cacheable);
+        }
+
+        // 3) 다른 노드가 리더 → 채워짐 신호 대기 (리스가 살아 있는 동안은 계속)
+        CompletableFuture<String> signal = fillWaiters.computeIfAbsent(key, k -> new CompletableFuture<>());
+        String outcome = NO_SIGNAL;
+        try {
+            // 구독 등록 후 한 번 더 확인 (등록 직전에 채워졌을 경우)
+            T again = reader.get();
+            if (again != null) return again;
+
+            long deadline = System.nanoTime() + remoteWaitMax().toNanos();
+            while (true) {
+                long left = deadline - System.nanoTime();
+                try {
+                    outcome = signal.get(Math.max(1, Math.min(wait.toNanos(), left)), TimeUnit.NANOSECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    // 신호가 유실됐을 수도 → 리스가 풀렸으면 더 기다리지 않음
+                    if (!Boolean.TRUE.equals(redis.hasKey(leaseKey))) break;
+                    if (deadline - System.nanoTime() <= 0) {
+                        log.warn("single-flight remote wait timeout key={}", key);
+                        break;
+                    }
+                }
+            }
+        } catch (ExecutionException ignore) {
+            // 신호는 정상 완료만 함
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            fillWaiters.remove(key, signal);
+        }
+
+        T filled = reader.get();
+        if (filled != null) return filled;
+
+        // 4) 원본을 직접 부르지 않고 리더 결과를 따른다
+        if (UNCACHED.equals(outcome)) return null;  // 공유할 값 없음 (빈 결과 등)
+        if (FAILED.equals(outcome)) throw new IllegalStateException("single-flight leader failed key=" + key);
+
+        // 신호가 없었거나 저장이 유실됨 → 리스가 풀렸으면 내가 리더 (여기서도 1명만)
+        if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(leaseKey, token, lease))) {
+            return lead(key, leaseKey, token, reader, loader, store, cacheable);
+        }
+        throw new IllegalStateException("single-flight remote wait timeout key=" + key);
+    }
+
+    /** 리스를 잡은 쪽: 다시 확인 → 원본 호출 → 저장 → 해제 + 결과 신호 */
+    private <T> T lead(String key, String leaseKey, String token, Supplier<T> reader, Supplier<T> loader,
+                       Consumer<T> store, Predicate<? super T> cacheable) {
+        String outcome = FAILED;
+        try {
+            // 리스 잡는 사이 다른 노드가 채웠을 수 있음
+            T again = reader.get();
+            if (again != null) {
+                outcome = STORED;
+                return again;
+            }
+
+            T v = loader.get();
+            if (v != null && cacheable.test(v)) {
+                store.accept(v);
+                outcome = STORED;
+            } else {
+                outcome = UNCACHED;
+            }
+            return v;
+        } finally {
+            redis.execute(RELEASE, List.of(leaseKey), token);
+            publishFilled(key, outcome); // 저장 안 했어도 깨워야 대기자가 타임아웃까지 안 묶임
+        }
+    }
+
+    /**
+     * 백그라운드 갱신 (stale-while-revalidate). 호출자는 기다리지 않음.
+     * - 이 노드에서 이미 로딩/갱신 중이거나, 다른 노드가 리스를 잡고 있으면 그냥 넘어감
+     */
+    public <T> void refreshAsync(String key, Supplier<T> loader,
+                                 Consumer<T> store, Predicate<? super T> cacheable) {
+        if (inflight.containsKey(key) || inflightMono.containsKey(key) || !refreshing.add(key)) return;
+
+        String leaseKey = "lock:" + key;
+        String token = UUID.randomUUID().toString();
+        boolean acquired;
+        try {
+            acquired = Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(leaseKey, token, lease));
+        } catch (Exception e) {
+            refreshing.remove(key);
+            log.warn("single-flight refresh lease failed key={}", key, e);
+            return;
+        }
+        if (!acquired) {
+            refreshing.remove(key); // 다른 노드가 갱신 중
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                String outcome = FAILED;
+                try {
+                    T v = loader.get();
+                    if (v != null && cacheable.test(v)) {
+                        store.accept(v);
+                        outcome = STORED;
+                    } else {
+                        outcome = UNCACHED;
+                    }
+                } catch (Exception e) {
+                    log.warn("background refresh failed key={}", key, e); // 기존 값은 hard TTL 까지 계속 제공
+                } finally {
+                    redis.execute(RELEASE, List.of(leaseKey), token);
+                    refreshing.remove(key);
+                    publishFilled(key, outcome);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 갱신 큐가 꽉 참 → 이번엔 건너뛰고 다음 요청에서 다시 시도
+            redis.execute(RELEASE, List.of(leaseKey), token);
+            refreshing.remove(key);
+        }
+    }
+
+    // ===== 논블로킹 (Mono) =====
+
+    /**
+     * load 의 Mono 버전. 구독 시점에 시작하고, 같은 키 동시 구독은 한 번의 로딩 결과를 공유
+     * @param store 결과 저장 (cacheable 일 때만, 완료 후 값 방출)
+     * @return 값. 다른 노드 리더의 결과가 저장 대상이 아니었으면 빈 Mono
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> loadMono(String key, Supplier<Mono<T>> reader, Supplier<Mono<T>> loader,
+                                Function<T, Mono<Void>> store, Predicate<? super T> cacheable) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<Object>> self = new AtomicReference<>();
+            Mono<Object> shared = inflightMono.computeIfAbsent(key, k -> {
+                Mono<Object> m = loadClusterWideMono(k, reader, loader, store, cacheable)
+                        .map(v -> (Object) v)
+                        .doFinally(s -> inflightMono.remove(k, self.get()))
+                        .cache();
+                self.set(m);
+                return m;
+            });
+            return shared.map(v -> (T) v);
+        });
+    }
+
+    private <T> Mono<T> loadClusterWideMono(String key, Supplier<Mono<T>> reader, Supplier<Mono<T>> loader,
+                                            Function<T, Mono<Void>> store, Predicate<? super T> cacheable) {
+        String leaseKey = "lock:" + key;
+        String token = UUID.randomUUID().toString();
+
+        return reactiveRedis.opsForValue().setIfAbsent(leaseKey, token, lease)
+                .flatMap(acquired -> {
+                    if (Boolean.TRUE.equals(acquired)) {
+                        return leadMono(key, leaseKey, token, reader, loader, store, cacheable);
+                    }
+
+                    // 다른 노드가 리더 → 채워짐 신호 대기 (스레드 대신 구독만 걸어둠)
+                    CompletableFuture<String> signal = fillWaiters.computeIfAbsent(key, k -> new CompletableFuture<>());
+                    long deadline = System.nanoTime() + remoteWaitMax().toNanos();
+                    return reader.get()
+                            .switchIfEmpty(Mono.defer(() -> awaitSignalMono(key, leaseKey, signal, deadline)
+                                    .flatMap(outcome -> reader.get().switchIfEmpty(Mono.defer(() ->
+                                            afterWaitMono(key, leaseKey, token, outcome, reader, loader, store, cacheable))))))
+                            .doFinally(s -> fillWaiters.remove(key, signal));
+                });
+    }
+
+    /** 신호 대기 (Mono). wait 마다 리스가 남았는지 보고, 남았으면 deadline 까지 계속 (load 의 3번과 같음) */
+    private Mono<String> awaitSignalMono(String key, String leaseKey, CompletableFuture<String> signal, long deadline) {
+        long left = deadline - System.nanoTime();
+        return Mono.fromFuture(signal, true)
+                .timeout(Duration.ofNanos(Math.max(1, Math.min(wait.toNanos(), left))))
+                .onErrorResume(TimeoutException.class, e -> reactiveRedis.hasKey(leaseKey)
+                        .onErrorReturn(false)
+                        .flatMap(held -> {
+                            if (!held) return Mono.just(NO_SIGNAL);
+                            if (deadline - System.nanoTime() <= 0) {
+                                log.warn("single-flight remote wait timeout key={}", key);
+                                return Mono.just(NO_SIGNAL);
+                            }
+                            return awaitSignalMono(key, leaseKey, signal, deadline);
+                        }));
+    }
+
+    /** 팔로워 최대 대기: 리더 리스 전체 + 신호 한 번 (리스 직전에 잡힌 리더도 끝까지 기다림) */
+    private Duration remoteWaitMax() {
+        return lease.plus(wait);
+    }
+
+    /** 신호 후에도 캐시가 비었을 때: 원본을 직접 부르지 않고 리더 결과를 따른다 (load 의 4번과 같음) */
+    private <T> Mono<T> afterWaitMono(String key, String leaseKey, String token, String outcome,
+                                      Supplier<Mono<T>> reader, Supplier<Mono<T>> loader,
+                                      Function<T, Mono<Void>> store, Predicate<? super T> cacheable) {
+        if (UNCACHED.equals(outcome)) return Mono.empty();
+        if (FAILED.equals(outcome)) {
+            return Mono.error(new IllegalStateException("single-flight leader failed key=" + key));
+        }
+        return reactiveRedis.opsForValue().setIfAbsent(leaseKey, token, lease)
+                .flatMap(acquired -> Boolean.TRUE.equals(acquired)
+                        ? leadMono(key, leaseKey, token, reader, loader, store, cacheable)
+                        : Mono.error(new IllegalStateException("single-flight remote wait timeout key=" + key)));
+    }
+
+    private <T> Mono<T> leadMono(String key, String leaseKey, String token, Supplier<Mono<T>> reader,
+                                 Supplier<Mono<T>> loader, Function<T, Mono<Void>> store,
+                                 Predicate<? super T> cacheable) {
+        AtomicReference<String> outcome = new AtomicReference<>(FAILED);
+        // 리스 잡는 사이 다른 노드가 채웠을 수 있음
+        return reader.get()
+                .doOnNext(v -> outcome.set(STORED))
+                .switchIfEmpty(Mono.defer(() -> loader.get()
+                        .flatMap(v -> {
+                            if (!cacheable.test(v)) {
+                                outcome.set(UNCACHED);
+                                return Mono.just(v);
+                            }
+                            return store.apply(v).then(Mono.fromCallable(() -> {
+                                outcome.set(STORED);
+                                return v;
+                            }));
+                        })
+                        .switchIfEmpty(Mono.fromRunnable(() -> outcome.set(UNCACHED)))))
+                .doFinally(s -> release(leaseKey, token)
+                        .then(publishFilledMono(key, outcome.get()))
+                        .subscribe()); // 저장 안 했어도 깨워야 대기자가 타임아웃까지 안 묶임
+    }
+
+    /** refreshAsync 의 Mono 버전. 호출자는 기다리지 않음 (내부에서 구독) */
+    public <T> void refreshMono(String key, Supplier<Mono<T>> loader,
+                                Function<T, Mono<Void>> store, Predicate<? super T> cacheable) {
+        if (inflight.containsKey(key) || inflightMono.containsKey(key) || !refreshing.add(key)) return;
+
+        String leaseKey = "lock:" + key;
+        String token = UUID.randomUUID().toString();
+        reactiveRedis.opsForValue().setIfAbsent(leaseKey, token, lease)
+                .filter(Boolean::booleanValue) // 다른 노드가 갱신 중이면 그냥 넘어감
+                .flatMap(ok -> loader.get()
+                        .flatMap(v -> cacheable.test(v) ? store.apply(v).thenReturn(STORED) : Mono.just(UNCACHED))
+                        .defaultIfEmpty(UNCACHED)
+                        .onErrorResume(e -> {
+                            log.warn("background refresh failed key={}", key, e); // 기존 값은 hard TTL 까지 계속 제공
+                            return Mono.just(FAILED);
+                        })
+                        .flatMap(outcome -> release(leaseKey, token).then(publishFilledMono(key, outcome))))
+                .doFinally(s -> refreshing.remove(key))
+                .subscribe(null, e -> log.warn("single-flight refresh lease failed key={}", key, e));
+    }
+
+    private Mono<Void> release(String leaseKey, String token) {
+        return reactiveRedis.execute(RELEASE, List.of(leaseKey), List.of(token))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("single-flight lease release failed key={}", leaseKey, e); // 리스는 TTL 로 풀림
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> publishFilledMono(String key, String outcome) {
+        return reactiveRedis.convertAndSend(CHANNEL, key + "|" + outcome)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("single-flight publish failed key={}", key, e);
+                    return Mono.empty();
+                });
+    }
+
+    private void publishFilled(String key, String outcome) {
+        try {
+            redis.convertAndSend(CHANNEL, key + "|" + outcome);
+        } catch (Exception e) {
+            log.warn("single-flight publish failed key={}", key, e);
+        }
+    }
+
+    /** pub/sub 수신: 메시지 본문 = "채워진 키|결과" (결과 없는 예전 포맷은 NO_SIGNAL 로) */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.lastIndexOf('|');
+        String outcome = sep < 0 ? NO_SIGNAL : body.substring(sep + 1);
+        String key = (sep < 0 || !isOutcome(outcome)) ? body : body.substring(0, sep);
+        if (!isOutcome(outcome)) outcome = NO_SIGNAL;
+
+        CompletableFuture<String> signal = fillWaiters.remove(key);
+        if (signal != null) signal.complete(outcome);
+    }
+
+    private static boolean isOutcome(String s) {
+        return STORED.equals(s) || UNCACHED.equals(s) || FAILED.equals(s);
+    }
+
+    private static RuntimeException unwrap(Throwable t) {
+        if (t instanceof CompletionException && t.getCause() != null) t = t.getCause();
+        if (t instanceof RuntimeException re) return re;
+        return new IllegalStateException(t);
+    }
+}
@@ -7,25 +7,31 @@ import com.homoSSAFYens.homSSAFYens.dto.TempExternalDto;
 import com.homoSSAFYens.homSSAFYens.dto.TempInfo;
 import com.homoSSAFYens.homSSAFYens.dto.TempMapper;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
 @Service
-public class TempService {
+public class TempService implements PrefetchSource {
 
     private final TempApiClient tempApiClient;
     private final CacheService cacheService;
+    private final HotKeyTracker hotKeys;
     private static final int GEO_DECIMALS = 3;
 
     private static final Duration TTL = Duration.ofMinutes(5);
+    private static final CachePolicy POLICY = CachePolicy.of(TTL, Duration.ofMinutes(15)); // 5m 지나면 stale 반환 + 뒤에서 갱신
 
     public TempService(TempApiClient tempApiClient,
-                       CacheService cacheService) {
+                       CacheService cacheService,
+                       HotKeyTracker hotKeys) {
         this.tempApiClient = tempApiClient;
         this.cacheService = cacheService;
+        this.hotKeys = hotKeys;
     }
 
     /**
@@ -33,56 +39,34 @@ public class TempService {
      * obs_dt기준을 오름차순 정렬 정렬해서 첫번쨰 값만 주기
      */
     public TempInfo getTempInfo(double lat, double lon) {
+        hotKeys.record(this, lat, lon);
 
-        final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
-        final String keyOne = "temp:" + geo + ":" + GeoKeyUtil.dayKST();;
-        final String keyAll = "tempAll:" + geo + ":" + GeoKeyUtil.dayKST();;
-
-
-        // 0) 단건 캐시
-        TempInfo cachedOne = cacheService.get(keyOne, TempInfo.class);
-        if (cachedOne != null) return cachedOne;
-        if (cacheService.isNull(keyOne)) return null;
-
-        // 0-1) 목록 캐시가 있으면 거기서 첫번째를 뽑아 재사용
-        List<TempInfo> cachedList = cacheService.get(keyAll, new TypeReference<>() {});
-        if (cachedList != null && !cachedList.isEmpty()) {
-            TempInfo first = cachedList.stream()
-                    .filter(Objects::nonNull)
-                    .sorted(Comparator.comparingDouble(t -> kmOrInfinity(t.obsDt())))
-                    .findFirst().orElse(null);
-            if (first != null) {
-                cacheService.set(keyOne, first, TTL);
-                return first;
-            }
-        } else if (cacheService.isNull(keyAll)) {
-            cacheService.setNull(keyOne, TTL);
-            return null;
-        }
-
-        // 1) 원본 호출
-        List<TempExternalDto> exts = tempApiClient.getTemp(lat, lon);
+        final String keyOne = nearestKey(lat, lon);
 
-        // 2) 매핑 + 정렬
-        List<TempInfo> sorted = exts.stream()
-                .map(TempMapper::toDomain)
-                .filter(Objects::nonNull)
-                .sorted(Comparator.comparingDouble(t -> kmOrInfinity(t.obsDt())))
-                .toList();
+        // 단건 캐시 (soft 지나면 stale 반환 + 뒤에서 갱신) → 미스면 목록(캐시 or 원본 1번)의 첫번째
+        return cacheService.getOrLoad(keyOne, TempInfo.class, POLICY, () -> {
+            if (cacheService.isNull(keyOne)) return null; // 직전 '없음' 네거티브 캐시
+            List<TempInfo> sorted = getTempList(lat, lon);
+            return (sorted == null || sorted.isEmpty()) ? null : sorted.get(0);
+        });
+    }
 
-        // 빈 결과도 캐시하고 싶다면 setNull 사용(짧은 TTL) — 트래픽 폭주 방지용
-//        if (sorted.isEmpty()) {
-//            // 네거티브 캐시(잠깐만)
-//            cacheService.setNull(keyAll, Duration.ofSeconds(5));
-//            cacheService.setNull(keyOne, Duration.ofSeconds(5));
-//            return null;
-//        }
-
-        // 3) 캐시 저장(목록/단건 동시 저장)
-        cacheService.set(keyAll, sorted, TTL);
-        TempInfo first = sorted.get(0);
-        cacheService.set(keyOne, first, TTL);
-        return first;
+    /** getTempInfo 논블로킹 버전 (같은 순서) */
+    public Mono<TempInfo> getTempInfoMono(double lat, double lon) {
+        hotKeys.record(this, lat, lon);
+
+        final String keyOne = nearestKey(lat, lon);
+
+        return cacheService.getOrLoadMono(keyOne, TempInfo.class, POLICY,
+                () -> cacheService.isNullMono(keyOne)
+                        .flatMap(isNull -> isNull ? Mono.<TempInfo>empty()
+                                : getTempListMono(lat, lon).mapNotNull(sorted -> sorted.isEmpty() ? null : sorted.get(0))),
+                v -> true);
+    }
+
+    /** getTempInfo(단건) 캐시 키 */
+    public String nearestKey(double lat, double lon) {
+        return "temp:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST();
     }
 
     /**
@@ -92,34 +76,58 @@ public class TempService {
     public List<TempInfo> getTempList(double lat, double lon) {
 
         final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
-        final String keyAll = "tempAll:" + geo + ":" + GeoKeyUtil.dayKST();;
+        final String keyAll = "tempAll:" + geo + ":" + GeoKeyUtil.dayKST();
+
+        // 0) 목록 캐시 → 1) 원본 호출 → 2) 매핑 + 정렬 → 3) 캐시 저장 (동시 미스는 한 번으로 합쳐짐)
+        // 빈 결과도 캐시하고 싶다면 setNull 사용(짧은 TTL) — 트래픽 폭주 방지용
+        return cacheService.getOrLoad(keyAll, new TypeReference<List<TempInfo>>() {}, POLICY,
+                () -> cacheService.isNull(keyAll) ? null : loadSorted(lat, lon),
+                list -> !list.isEmpty());
+    }
+
+    /** getTempList 논블로킹 버전 */
+    public Mono<List<TempInfo>> getTempListMono(double lat, double lon) {
+        final String keyAll = "tempAll:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST();
 
-        // 0) 목록 캐시
-        List<TempInfo> cached = cacheService.get(keyAll, new TypeReference<>() {});
-        if (cached != null) return cached;
-        if (cacheService.isNull(keyAll)) return null;
+        return cacheService.getOrLoadMono(keyAll, new TypeReference<List<TempInfo>>() {}, POLICY,
+                () -> cacheService.isNullMono(keyAll)
+                        .flatMap(isNull -> isNull ? Mono.<List<TempInfo>>empty()
+                                : tempApiClient.getTempMono(lat, lon).map(TempService::sorted)),
+                list -> !list.isEmpty());
+    }
 
-        // 1) 원본 호출
+    private List<TempInfo> loadSorted(double lat, double lon) {
         List<TempExternalDto> exts = tempApiClient.getTemp(lat, lon);
+        return exts == null ? null : sorted(exts);
+    }
 
-        // 2) 매핑 + 정렬
-        List<TempInfo> sorted = exts.stream()
+    private static List<TempInfo> sorted(List<TempExternalDto> exts) {
+        return exts.stream()
                 .map(TempMapper::toDomain)
                 .filter(Objects::nonNull)
                 .sorted(Comparator.comparingDouble(t -> kmOrInfinity(t.obsDt())))
                 .toList();
+    }
 
-        // 빈 결과도 캐시하고 싶다면 setNull 사용(짧은 TTL) — 트래픽 폭주 방지용
-//        if (sorted.isEmpty()) {
-//            cacheService.setNull(keyAll, Duration.ofSeconds(5));
-//            return null;
-//        }
-
-        // 3) 캐시 저장
-        cacheService.set(keyAll, sorted, TTL);
-        return sorted;
+    // --- 선로딩 (CachePrefetcher) ---
+    @Override public String kind() { return "temp"; }
+    @Override public int geoDecimals() { return GEO_DECIMALS; }
+
+    @Override
+    public String cacheKey(double lat, double lon, LocalDate day) {
+        return "tempAll:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST(day);
     }
 
+    /** 목록 + 단건(첫번째) 둘 다 채움 */
+    @Override
+    public boolean prefetch(double lat, double lon, LocalDate day) {
+        List<TempInfo> sorted = loadSorted(lat, lon);
+        if (sorted == null || sorted.isEmpty()) return false;
+        String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
+        cacheService.set(cacheKey(lat, lon, day), sorted, POLICY);
+        cacheService.set("temp:" + geo + ":" + GeoKeyUtil.dayKST(day), sorted.get(0), POLICY);
+        return true;
+    }
 
     /** obsDt가 NaN이면 무한대로 간주하여 정렬 시 맨 뒤로 보냄 */
     private static double kmOrInfinity(double v) {
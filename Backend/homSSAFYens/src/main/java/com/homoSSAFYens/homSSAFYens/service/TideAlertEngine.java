@@ -0,0 +1,23 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.dto.TideAlert;
+
+import java.util.List;
+
+/**
+ * 셀 알림 예약 엔진 (alarm.engine 으로 선택)
+ * - quartz (기본): 셀 알림 1건 = Quartz job + trigger (그룹 geoKey)
+ * - wheel: Redis ZSET(발송 시각 점수) + 노드별 계층형 타이밍 휠
+ *
+ * 멱등 단위는 어느 엔진이든 (geoKey, tideTs, offset).
+ * 어떤 디바이스가 받을지는 구독 SET 이 정하므로 엔진은 디바이스를 모른다.
+ */
+public interface TideAlertEngine {
+
+    /**
+     * 셀 알림 예약. 이미 있는 건 건드리지 않는다.
+     * (구독자가 다 빠진 알림은 지우지 않고 발송 시점에 빈 SET 으로 끝난다)
+     * @return 반영(또는 변경 없음) 성공이면 true
+     */
+    boolean schedule(List<TideAlert> alerts);
+}
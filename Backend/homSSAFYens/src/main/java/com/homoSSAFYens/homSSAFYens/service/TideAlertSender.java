@@ -0,0 +1,72 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.dto.TideAlert;
+import com.homoSSAFYens.homSSAFYens.repo.Keys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 셀 알림 1건 fan-out 발송 (Quartz Job / 타이밍 휠 엔진 공용)
+ * 1) 구독 SET(cell:subs:<id>) 에서 deviceId 목록
+ * 2) 디바이스 fcm 토큰 파이프라인 HGET
+ * 3) data-only 메시지를 디스패처 큐에 넣음 (500개씩 묶음 전송/재시도는 NotificationDispatcher)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TideAlertSender {
+
+    private final StringRedisTemplate redis;
+    private final NotificationDispatcher dispatcher;
+
+    public void send(TideAlert a) {
+        // 1) 구독 디바이스
+        Set<String> devices = redis.opsForSet().members(Keys.cellSubs(a.id()));
+        if (devices == null || devices.isEmpty()) {
+            log.debug("no subscribers: alert={}", a.id());
+            return;
+        }
+
+        // 2) fcm 토큰 일괄 조회
+        List<String> ids = new ArrayList<>(devices);
+        List<Object> raw = redis.executePipelined((RedisCallback<Object>) conn -> {
+            StringRedisConnection sc = (StringRedisConnection) conn;
+            for (String id : ids) sc.hGet(Keys.device(id), "fcm");
+            return null;
+        });
+
+        // 3) data-only 메시지 큐잉
+        String msg = a.locationName() + " 만조 " + Math.abs(a.offset()) + "분 전";
+        Map<String, String> data = Map.of(
+                "type", "TIDE_SOON",
+                "eventId", a.eventId(),
+                "tideTs", String.valueOf(a.tideTs()),
+                "offset", String.valueOf(a.offset()),
+                "geoKey", a.geoKey(),
+                "message", msg
+        );
+        List<NotificationDispatcher.Push> pushes = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (raw.get(i) instanceof String token && !token.isBlank()) {
+                pushes.add(NotificationDispatcher.Push.data(ids.get(i), token, data));
+            }
+        }
+        if (pushes.isEmpty()) {
+            log.warn("no fcm token: alert={} devices={}", a.id(), ids.size());
+            return;
+        }
+        int queued = dispatcher.enqueueAll(pushes);
+
+        log.info("FCM queued: alert={} evt={} devices={} tokens={} queued={}",
+                a.id(), a.eventId(), ids.size(), pushes.size(), queued);
+    }
+}
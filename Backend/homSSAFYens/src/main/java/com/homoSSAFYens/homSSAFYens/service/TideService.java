@@ -10,6 +10,7 @@ import com.homoSSAFYens.homSSAFYens.dto.TideExternalDto;
 import com.homoSSAFYens.homSSAFYens.dto.TideMapper;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -17,72 +18,113 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-public class TideService {
+public class TideService implements PrefetchSource {
 
     private final TideApiClient tideApiClient;
     private final CacheService cacheService;
     private final ObjectMapper om;
+    private final HotKeyTracker hotKeys;
 
     // --- 캐시 정책 ---
     private static final int GEO_DECIMALS = 3;//110m
     private static final Duration TTL = Duration.ofHours(6);
+    private static final CachePolicy POLICY = CachePolicy.of(TTL, Duration.ofHours(12)); // 6h 지나면 stale 반환 + 뒤에서 갱신
 
     public TideService(TideApiClient tideApiClient,
                        CacheService cacheService,
                        StringRedisTemplate redis,
-                       ObjectMapper objectMapper) {
+                       ObjectMapper objectMapper,
+                       HotKeyTracker hotKeys) {
         this.tideApiClient = tideApiClient;
+        this.hotKeys = hotKeys;
         this.om = objectMapper;
         this.cacheService = cacheService;
     }
 
     /** 7일치 모두 전달 하기 */
     public List<TideDailyInfo> getWeekly(double lat, double lon) {
+        hotKeys.record(this, lat, lon);
+        final String key = cacheKey(lat, lon, GeoKeyUtil.todayKST());
 
-        final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
-        final String key = "tide7d:" + geo + ":" + GeoKeyUtil.dayKST();
+        // 1) 캐시 조회 → 2) 미스면 원본 호출(키당 1번) → 3) 캐시 저장
+        return cacheService.getOrLoad(key, new TypeReference<List<TideDailyInfo>>() {}, POLICY,
+                () -> loadWeekly(lat, lon));
+    }
 
-        // 1) 캐시 조회
-        List<TideDailyInfo> cached = cacheService.get(key, new TypeReference<List<TideDailyInfo>>() {});
-        if (cached != null) return cached;
+    /** getWeekly 논블로킹 버전 */
+    public Mono<List<TideDailyInfo>> getWeeklyMono(double lat, double lon) {
+        hotKeys.record(this, lat, lon);
+        return cacheService.getOrLoadMono(cacheKey(lat, lon, GeoKeyUtil.todayKST()),
+                new TypeReference<List<TideDailyInfo>>() {}, POLICY,
+                () -> tideApiClient.getTideMono(lat, lon).map(TideService::toDaily), v -> true);
+    }
 
-        // 2) 원본 호출
+    private List<TideDailyInfo> loadWeekly(double lat, double lon) {
         List<TideExternalDto> ext = tideApiClient.getTide(lat, lon);
-        if (ext == null) return null;
+        return ext == null ? null : toDaily(ext);
+    }
 
-        List<TideDailyInfo> mapped = ext.stream()
+    private static List<TideDailyInfo> toDaily(List<TideExternalDto> ext) {
+        return ext.stream()
                 .map(TideMapper::toDaily)
                 .collect(java.util.stream.Collectors.toList());
+    }
 
-        // 3) 캐시 저장
-        cacheService.set(key, mapped, TTL);
-
-        return mapped;
+    /** getDaily 캐시 키 */
+    public String dailyKey(double lat, double lon, LocalDate day) {
+        return "tide1d:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST(day);
     }
 
     /** 오늘자만  */
     public TideDailyInfo getDaily(double lat, double lon) {
-        LocalDate today = LocalDate.now();
-        final String geo = GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS);
-        final String key = "tide1d:" + geo + ":" + GeoKeyUtil.dayKST(today);
+        hotKeys.record(this, lat, lon);
+        LocalDate today = GeoKeyUtil.todayKST();
+        final String key = dailyKey(lat, lon, today);
+
+        // 1) 일간 캐시 → 2) 미스면 주간에서 필터 → 3) 일간 캐시에 저장
+        return cacheService.getOrLoad(key, TideDailyInfo.class, POLICY, () -> {
+            List<TideDailyInfo> weekly = getWeekly(lat, lon);
+            if (weekly == null) return null;
+
+            return weekly.stream()
+                    .filter(d -> today.equals(d.date()))
+                    .findFirst()
+                    .orElse(null);
+        });
+    }
 
-        // 1) 일간 캐시
-        TideDailyInfo one = cacheService.get(key, TideDailyInfo.class);
-        if (one != null) return one;
+    /** getDaily 논블로킹 버전 */
+    public Mono<TideDailyInfo> getDailyMono(double lat, double lon) {
+        hotKeys.record(this, lat, lon);
+        LocalDate today = GeoKeyUtil.todayKST();
+        return cacheService.getOrLoadMono(dailyKey(lat, lon, today), TideDailyInfo.class, POLICY,
+                () -> getWeeklyMono(lat, lon).mapNotNull(weekly -> weekly.stream()
+                        .filter(d -> today.equals(d.date()))
+                        .findFirst()
+                        .orElse(null)),
+                v -> true);
+    }
 
-        // 2) 주간에서 필터
-        List<TideDailyInfo> weekly = getWeekly(lat, lon);
-        if (weekly == null) return null;
+    // --- 선로딩 (CachePrefetcher) ---
+    @Override public String kind() { return "tide"; }
+    @Override public int geoDecimals() { return GEO_DECIMALS; }
+    @Override public boolean prefetchBeforeMidnight() { return true; } // 주간 예보라 내일 날짜 포함, hard 12h
 
-        TideDailyInfo todayInfo = weekly.stream()
-                .filter(d -> today.equals(d.date()))
-                .findFirst()
-                .orElse(null);
+    @Override
+    public String cacheKey(double lat, double lon, LocalDate day) {
+        return "tide7d:" + GeoKeyUtil.geoKey(lat, lon, GEO_DECIMALS) + ":" + GeoKeyUtil.dayKST(day);
+    }
 
-        // 3) 일간 캐시에 저장
-        if (todayInfo != null) {
-            cacheService.set(key, todayInfo, TTL);
-        }
-        return todayInfo;
+    /** 주간 + 그 날짜 일간 둘 다 채움 */
+    @Override
+    public boolean prefetch(double lat, double lon, LocalDate day) {
+        List<TideDailyInfo> weekly = loadWeekly(lat, lon);
+        if (weekly == null || weekly.isEmpty()) return false;
+        cacheService.set(cacheKey(lat, lon, day), weekly, POLICY);
+        weekly.stream()
+                .filter(d -> day.equals(d.date()))
+                .findFirst()
+                .ifPresent(d -> cacheService.set(dailyKey(lat, lon, day), d, POLICY));
+        return true;
     }
 }
@@ -0,0 +1,55 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.homoSSAFYens.homSSAFYens.common.TideCalcUtil;
+import com.homoSSAFYens.homSSAFYens.common.TideTimeline;
+import com.homoSSAFYens.homSSAFYens.dto.TideDailyInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * geoKey → 주간 조석 타임라인
+ * - 주간 캐시(TideService.getWeekly, L1 히트면 같은 List 인스턴스)를 한 번 디코딩해서 재사용
+ * - 주간 값이 바뀌면(새로 받아옴/다른 노드가 갱신) 인스턴스가 달라지므로 그때만 다시 만듦
+ */
+@Service
+@RequiredArgsConstructor
+public class TideTimelineService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 디코딩 결과 + 만든 원본 (원본이 같으면 재사용) */
+    private record Built(List<TideDailyInfo> weekly, TideTimeline timeline) {}
+
+    private final TideService tideService;
+
+    private final Cache<String, Built> built = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .expireAfterAccess(Duration.ofDays(1))
+            .build();
+
+    /** @return 타임라인 (주간 조석을 못 받았으면 null) */
+    public TideTimeline timeline(String geoKey, double lat, double lon) {
+        List<TideDailyInfo> weekly = tideService.getWeekly(lat, lon);
+        if (weekly == null) return null;
+
+        Built b = built.getIfPresent(geoKey);
+        if (b != null && b.weekly() == weekly) return b.timeline();
+
+        TideTimeline tl = TideCalcUtil.timeline(weekly, KST);
+        built.put(geoKey, new Built(weekly, tl));
+        return tl;
+    }
+
+    /** geoKey("lat,lon") 만으로 조회 */
+    public TideTimeline timeline(String geoKey) {
+        int comma = geoKey.indexOf(',');
+        return timeline(geoKey, Double.parseDouble(geoKey.substring(0, comma)),
+                Double.parseDouble(geoKey.substring(comma + 1)));
+    }
+}
@@ -2,10 +2,10 @@ package com.homoSSAFYens.homSSAFYens.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
-import com.homoSSAFYens.homSSAFYens.dto.LocationDto;
 import com.homoSSAFYens.homSSAFYens.dto.TyphoonPathRequest;
 import com.homoSSAFYens.homSSAFYens.utill.GeoUtil;
 
@@ -13,14 +13,14 @@ import com.homoSSAFYens.homSSAFYens.utill.GeoUtil;
 public class TyphoonAlertService {
 
     private final DeviceRegistry deviceRegistry;
-    private final FcmClient2 fcmClient;
+    private final NotificationDispatcher dispatcher;
     private final TyphoonPathStore pathStore; // ★ 추가
 
     public TyphoonAlertService(DeviceRegistry deviceRegistry,
-                               FcmClient2 fcmClient,
+                               NotificationDispatcher dispatcher,
                                TyphoonPathStore pathStore) { // ★ 생성자 주입
         this.deviceRegistry = deviceRegistry;
-        this.fcmClient = fcmClient;
+        this.dispatcher = dispatcher;
         this.pathStore = pathStore;
     }
     
@@ -41,26 +41,43 @@ public class TyphoonAlertService {
         double[][] path = req.path().stream()
                 .map(p -> new double[]{p.lat(), p.lon()})
                 .toArray(double[][]::new);
+        if (path.length == 0) {
+            return new Result(true, List.of(), null);
+        }
 
-        var snapshot = deviceRegistry.snapshot();
-        List<String> matched = new ArrayList<>();
-        double minDist = Double.MAX_VALUE;
+        // 경로 주변 격자에 있는 슬롯만 후보로 (레지스트리 복사/전수 계산 없음)
+        int[] slots = deviceRegistry.candidatesNear(path, req.bufferRadiusKm());
 
-        for (var dev : snapshot.values()) {
-            LocationDto loc = dev.lastLocation;
-            if (loc == null) continue; // NPE 방지 (혹시 위치가 없는 기기)
+        // 후보 위경도를 primitive 배열로 → 선분 거리(대권) 청크 병렬 계산
+        int n = slots.length;
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        String[] ids = new String[n];
+        deviceRegistry.readLocations(slots, lats, lons, ids);
+        double[] dist = GeoUtil.corridor(path).distancesKm(lats, lons);
+
+        List<String> matched = new ArrayList<>();
+        double minDist = Double.MAX_VALUE; // 후보(경로 주변) 기기 중 최소 거리
 
-            double d = GeoUtil.minDistanceToPointsKm(loc.lat(), loc.lon(), path);
+        for (int i = 0; i < n; i++) {
+            double d = dist[i];
+            if (Double.isNaN(d)) continue; // 빈 슬롯
             if (d < minDist) minDist = d;
 
             if (d <= req.bufferRadiusKm()) {
-                matched.add(dev.deviceId);
-                // 데모용 fire-and-forget
-                fcmClient.send(
-                        dev.fcmToken,
+                var dev = deviceRegistry.device(slots[i]);
+                // 그새 삭제됨, 또는 슬롯이 다른 기기에 재사용됨 (그 기기 위치는 판정한 적 없음)
+                if (dev == null || !dev.deviceId().equals(ids[i])) continue;
+                matched.add(dev.deviceId());
+                // 큐에 넣고 바로 다음 기기로 (500개씩 묶음 전송/재시도는 디스패처)
+                dispatcher.enqueue(NotificationDispatcher.Push.notification(
+                        dev.deviceId(),
+                        dev.fcmToken(),
                         "태풍 경로 경보",
-                        String.format("[%s] 경로가 내 위치 %.2fkm 이내로 통과", req.name(), d)
-                ).subscribe();
+                        String.format("[%s] 경로가 내 위치 %.2fkm 이내로 통과", req.name(), d),
+                        "typhoon_alerts",
+                        Map.of("type", "TYPHOON_ALERT")
+                ));
             }
         }
 
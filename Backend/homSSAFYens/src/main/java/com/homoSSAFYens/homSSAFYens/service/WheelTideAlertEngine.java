@@ -0,0 +1,208 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homoSSAFYens.homSSAFYens.common.TimingWheel;
+import com.homoSSAFYens.homSSAFYens.dto.TideAlert;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 타이밍 휠 엔진 (alarm.engine=wheel)
+ * - 예약: Redis ZSET alarm:due (member = geoKey|tideTs|offset, score = 발송 시각 초)
+ *         + HASH alarm:data (member → TideAlert JSON)
+ * - 발송: 노드마다 poll 주기로 horizon 안의 due 를 읽어 계층형 타이밍 휠에 올리고, tick 마다 만료분 발송
+ * - 중복 방지: 발송 직전 Lua 로 claim (score <= now 인 것만, score 를 now + lease 로 밀어 점유)
+ *   → 한 노드만 가져감. 보내다 죽거나 발송이 실패하면 lease 뒤에 다시 가져감 (max-late 지나면 포기)
+ * - 발송 풀은 큐 상한이 있어 밀리면 거절 → 다음 poll 에서 다시 올림
+ * - Quartz job 이 쌓이지 않음: 셀 알림 1건 = ZSET 멤버 1개, 보내면 지움
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "alarm.engine", havingValue = "wheel")
+public class WheelTideAlertEngine implements TideAlertEngine {
+
+    private static final String DUE = "alarm:due";
+    private static final String DATA = "alarm:data";
+
+    /** due 이고 아직 아무도 안 가져갔으면 lease 시각으로 밀고 1, 아니면 0 */
+    private static final RedisScript<Long> CLAIM = new DefaultRedisScript<>(
+            "local s = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "if (not s) or tonumber(s) > tonumber(ARGV[2]) then return 0 end " +
+            "redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper om;
+    private final TideAlertSender sender;
+
+    @Value("${alarm.wheel.tick:1s}")
+    private Duration tick;
+    @Value("${alarm.wheel.poll:5s}")
+    private Duration poll;
+    @Value("${alarm.wheel.horizon:5m}")
+    private Duration horizon;
+    @Value("${alarm.wheel.lease:60s}")
+    private Duration lease;
+    @Value("${alarm.wheel.batch:1000}")
+    private int batch;
+    @Value("${alarm.wheel.send-threads:4}")
+    private int sendThreads;
+    @Value("${alarm.wheel.send-queue:1000}")
+    private int sendQueue;
+    @Value("${alarm.wheel.max-late:30m}")
+    private Duration maxLate;
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService sendPool;
+
+    // --- ticker 스레드 전용 ---
+    private TimingWheel<String> wheel;
+    private final Map<String, Long> loaded = new HashMap<>(); // 휠에 올린 member → score
+    private long lastPollMs;
+
+    @PostConstruct
+    public void start() {
+        wheel = new TimingWheel<>(tick.toMillis(), 60, 2, System.currentTimeMillis());
+        if (horizon.toMillis() >= wheel.horizonMs()) {
+            horizon = Duration.ofMillis(wheel.horizonMs() - tick.toMillis());
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("alarm-wheel-"));
+        sendPool = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueue), new CustomizableThreadFactory("alarm-send-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        ticker.scheduleAtFixedRate(this::tick, 0, tick.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("alarm engine=wheel tick={} poll={} horizon={} lease={}", tick, poll, horizon, lease);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        sendPool.shutdown();
+    }
+
+    @Override
+    public boolean schedule(List<TideAlert> alerts) {
+        if (alerts.isEmpty()) return true;
+        try {
+            Map<String, String> json = new LinkedHashMap<>();
+            for (TideAlert a : alerts) json.putIfAbsent(a.id(), om.writeValueAsString(a));
+
+            // 파이프라인 1번. NX: 같은 (geoKey, tideTs, offset) 가 이미 있으면(claim 중 포함) 점수 유지
+            redis.executePipelined((RedisCallback<Object>) conn -> {
+                StringRedisConnection sc = (StringRedisConnection) conn;
+                for (TideAlert a : alerts) {
+                    sc.zAdd(DUE, a.triggerAt(), a.id(), ZAddArgs.ifNotExists());
+                    sc.hSetNX(DATA, a.id(), json.get(a.id()));
+                }
+                return null;
+            });
+            return true;
+
+        } catch (Exception e) {
+            log.error("schedule error", e);
+            return false;
+        }
+    }
+
+    // ===== 발송 =====
+
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            if (now - lastPollMs >= poll.toMillis()) {
+                pollDue(now);
+                lastPollMs = now;
+            }
+            for (String m : wheel.advance(now)) fire(m);
+        } catch (Exception e) {
+            // 예외가 새면 scheduleAtFixedRate 가 멈추므로 여기서 삼킨다
+            log.error("alarm wheel tick error", e);
+        }
+    }
+
+    /** horizon 안에 울릴 것들을 휠에 올린다 (이미 올린 건 건너뜀) */
+    private void pollDue(long nowMs) {
+        long maxSec = (nowMs + horizon.toMillis()) / 1000;
+        Set<TypedTuple<String>> due = redis.opsForZSet().rangeByScoreWithScores(DUE, 0, maxSec, 0, batch);
+        if (due == null) return;
+        for (TypedTuple<String> t : due) {
+            String m = t.getValue();
+            if (m == null || t.getScore() == null) continue;
+            long sec = t.getScore().longValue();
+            Long prev = loaded.put(m, sec);
+            if (prev != null && prev == sec) continue;
+            if (!wheel.add(sec * 1000, m)) fire(m); // 이미 지남 → 바로
+        }
+    }
+
+    private void fire(String member) {
+        loaded.remove(member);
+        try {
+            sendPool.execute(() -> claimAndSend(member));
+        } catch (RejectedExecutionException e) {
+            log.warn("alarm send pool full, retry on next poll {}", member);
+        }
+    }
+
+    private void claimAndSend(String member) {
+        long nowSec = System.currentTimeMillis() / 1000;
+        Long ok = redis.execute(CLAIM, List.of(DUE), member,
+                String.valueOf(nowSec), String.valueOf(nowSec + lease.getSeconds()));
+        if (!Long.valueOf(1L).equals(ok)) return; // 다른 노드가 가져갔거나 취소/변경됨
+
+        String json = (String) redis.opsForHash().get(DATA, member);
+        if (json != null) {
+            TideAlert alert = null;
+            try {
+                alert = om.readValue(json, TideAlert.class);
+                sender.send(alert);
+            } catch (Exception e) {
+                // ack 하지 않음 → score 가 lease 시각이라 lease 뒤에 다시 claim 됨
+                // 너무 늦은 알림(max-late 초과)이거나 읽을 수 없는 데이터면 포기하고 지움
+                boolean tooLate = alert != null && nowSec - alert.triggerAt() > maxLate.getSeconds();
+                if (alert != null && !tooLate) {
+                    log.warn("FCM send error, retry after lease {}", member, e);
+                    return;
+                }
+                log.error("FCM send error, giving up {}", member, e);
+            }
+        }
+
+        // ack
+        redis.executePipelined((RedisCallback<Object>) conn -> {
+            StringRedisConnection sc = (StringRedisConnection) conn;
+            sc.zRem(DUE, member);
+            sc.hDel(DATA, member);
+            return null;
+        });
+    }
+}
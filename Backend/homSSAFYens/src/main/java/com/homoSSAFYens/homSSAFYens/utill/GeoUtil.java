@@ -1,7 +1,11 @@
 package com.homoSSAFYens.homSSAFYens.utill;
 
+import java.util.stream.IntStream;
+
 public class GeoUtil {
     private static final double EARTH_RADIUS_KM = 6371.0088;
+    /** 위도 1도(대권 1도) 길이 km */
+    public static final double KM_PER_DEG = Math.toRadians(1) * EARTH_RADIUS_KM;
 
     public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
         double dLat = Math.toRadians(lat2-lat1);
@@ -13,13 +17,160 @@ public class GeoUtil {
         return EARTH_RADIUS_KM * c;
     }
 
-    // 시연용 간소화: “경로상의 점들”까지의 최소 거리만 사용
-    public static double minDistanceToPointsKm(double lat, double lon, double[][] path) {
-        double min = Double.MAX_VALUE;
-        for (double[] p : path) {
-            double d = haversineKm(lat, lon, p[0], p[1]);
-            if (d < min) min = d;
+    /** A→B 초기 방위각(rad) */
+    private static double bearingRad(double lat1, double lon1, double lat2, double lon2) {
+        double p1 = Math.toRadians(lat1), p2 = Math.toRadians(lat2);
+        double dl = Math.toRadians(lon2 - lon1);
+        double y = Math.sin(dl) * Math.cos(p2);
+        double x = Math.cos(p1) * Math.sin(p2) - Math.sin(p1) * Math.cos(p2) * Math.cos(dl);
+        return Math.atan2(y, x);
+    }
+
+    /**
+     * 점 P 에서 대권 선분 A-B 까지 최단 거리(km)
+     * - cross-track 거리, 단 수선의 발이 선분 밖이면 가까운 끝점까지 거리
+     */
+    public static double pointToSegmentKm(double lat, double lon,
+                                          double aLat, double aLon, double bLat, double bLon) {
+        double dAP = haversineKm(aLat, aLon, lat, lon);
+        if (aLat == bLat && aLon == bLon) return dAP;
+
+        double d13 = dAP / EARTH_RADIUS_KM;
+        double dTheta = bearingRad(aLat, aLon, lat, lon) - bearingRad(aLat, aLon, bLat, bLon);
+        // A 뒤쪽 → A 가 가장 가까움
+        if (Math.cos(dTheta) <= 0) return dAP;
+
+        double xt = Math.asin(Math.sin(d13) * Math.sin(dTheta));         // cross-track (rad)
+        double at = Math.acos(Math.max(-1, Math.min(1, Math.cos(d13) / Math.cos(xt)))); // along-track (rad)
+        double d12 = haversineKm(aLat, aLon, bLat, bLon) / EARTH_RADIUS_KM;
+        // B 를 지나침 → B 까지 거리
+        if (at > d12) return haversineKm(bLat, bLon, lat, lon);
+        return Math.abs(xt) * EARTH_RADIUS_KM;
+    }
+
+    /**
+     * 대권 선분 A-B 가 지나는 위도 범위 {min, max}
+     * - 대권은 극 쪽으로 휘므로 끝점 위도만으로는 부족 → 선분 안에 꼭짓점(위도 극값)이 있으면 포함
+     * - sinφ(s) = sinφ1·cos s + cosφ1·sin s·cosθ 의 극값 s* = atan2(cosφ1·cosθ, sinφ1) (및 s* ± π)
+     * - 경도는 (반자오선/극을 넘지 않는) 180° 미만 선분에서 끝점 사이로 단조라 끝점 범위 그대로
+     */
+    public static double[] segmentLatRange(double aLat, double aLon, double bLat, double bLon) {
+        double min = Math.min(aLat, bLat), max = Math.max(aLat, bLat);
+        if (aLat == bLat && aLon == bLon) return new double[]{min, max};
+
+        double p1 = Math.toRadians(aLat);
+        double theta = bearingRad(aLat, aLon, bLat, bLon);
+        double d12 = haversineKm(aLat, aLon, bLat, bLon) / EARTH_RADIUS_KM;
+        double sinP1 = Math.sin(p1), cosP1 = Math.cos(p1), cosTh = Math.cos(theta);
+
+        double s0 = Math.atan2(cosP1 * cosTh, sinP1);
+        for (double s : new double[]{s0, s0 + Math.PI, s0 - Math.PI}) {
+            if (s <= 0 || s >= d12) continue;
+            double sinP = sinP1 * Math.cos(s) + cosP1 * Math.sin(s) * cosTh;
+            double lat = Math.toDegrees(Math.asin(Math.max(-1, Math.min(1, sinP))));
+            if (lat < min) min = lat;
+            if (lat > max) max = lat;
+        }
+        return new double[]{min, max};
+    }
+
+    /** 위도 lat 에서 대권 거리 radiusKm 가 닿을 수 있는 최대 경도 차(도). 극을 덮으면 180 */
+    public static double lonReachDeg(double radiusKm, double lat) {
+        double sinR = Math.sin(Math.min(Math.PI / 2, radiusKm / EARTH_RADIUS_KM));
+        double cosLat = Math.cos(Math.toRadians(Math.min(90.0, Math.abs(lat))));
+        if (sinR >= cosLat) return 180.0;
+        return Math.toDegrees(Math.asin(sinR / cosLat));
+    }
+
+    /** 경로(점 목록)를 선분으로 이은 폴리라인 → 거리는 Corridor.distanceKm / distancesKm */
+    public static Corridor corridor(double[][] path) {
+        return new Corridor(path);
+    }
+
+    /**
+     * 경로 폴리라인 (선분별 bbox 를 미리 계산)
+     * - bbox 위도 범위는 대권이 극 쪽으로 휘는 만큼 포함 (segmentLatRange)
+     * - 선분마다 bbox 까지의 haversine 하한을 먼저 보고, 지금까지 최소보다 멀면 정확 계산 생략
+     * - distancesKm: 디바이스 위경도 double[] 을 청크로 나눠 병렬 계산
+     */
+    public static final class Corridor {
+
+        /** 병렬 처리 청크 크기 (이보다 적으면 단일 스레드) */
+        private static final int CHUNK = 4096;
+
+        private final int n;              // 선분 수 (점 1개면 0)
+        private final double[] aLat, aLon, bLat, bLon;
+        private final double[] minLat, maxLat, minLon, maxLon;
+        private final double[] cosFar;    // bbox 안 최소 cos(위도) (극에 가장 가까운 위도)
+        private final double p0Lat, p0Lon;
+
+        private Corridor(double[][] path) {
+            if (path.length == 0) throw new IllegalArgumentException("empty path");
+            this.p0Lat = path[0][0];
+            this.p0Lon = path[0][1];
+            this.n = path.length - 1;
+            aLat = new double[n]; aLon = new double[n]; bLat = new double[n]; bLon = new double[n];
+            minLat = new double[n]; maxLat = new double[n]; minLon = new double[n]; maxLon = new double[n];
+            cosFar = new double[n];
+            for (int i = 0; i < n; i++) {
+                aLat[i] = path[i][0];     aLon[i] = path[i][1];
+                bLat[i] = path[i + 1][0]; bLon[i] = path[i + 1][1];
+                double[] lat = segmentLatRange(aLat[i], aLon[i], bLat[i], bLon[i]);
+                minLat[i] = lat[0]; maxLat[i] = lat[1];
+                minLon[i] = Math.min(aLon[i], bLon[i]); maxLon[i] = Math.max(aLon[i], bLon[i]);
+                cosFar[i] = Math.min(Math.cos(Math.toRadians(minLat[i])), Math.cos(Math.toRadians(maxLat[i])));
+            }
+        }
+
+        /**
+         * 점에서 i 번째 선분 bbox 까지 거리의 하한 (haversine 의 a 값, 0~1)
+         * bbox 안 어느 점 q 든 |Δφ| ≥ dLat, |Δλ| ≥ dLon, cosφq ≥ cosFar 이므로
+         * a = sin²(Δφ/2) + cosφp·cosφq·sin²(Δλ/2) ≥ sin²(dLat/2) + cosφp·cosFar·sin²(dLon/2)
+         */
+        private double bboxLowerBoundA(int i, double lat, double lon, double cosLat) {
+            double dLat = (lat < minLat[i]) ? minLat[i] - lat : (lat > maxLat[i] ? lat - maxLat[i] : 0);
+            double dLon = (lon < minLon[i]) ? minLon[i] - lon : (lon > maxLon[i] ? lon - maxLon[i] : 0);
+            if (dLat == 0 && dLon == 0) return 0;
+            double sLat = Math.sin(Math.toRadians(dLat) / 2);
+            double sLon = Math.sin(Math.toRadians(Math.min(180.0, dLon)) / 2);
+            return sLat * sLat + cosLat * cosFar[i] * sLon * sLon;
+        }
+
+        /** 거리(km) → haversine a 값 */
+        private static double aOf(double km) {
+            double s = Math.sin(Math.min(Math.PI / 2, km / EARTH_RADIUS_KM / 2));
+            return s * s;
+        }
+
+        public double distanceKm(double lat, double lon) {
+            if (Double.isNaN(lat) || Double.isNaN(lon)) return Double.NaN; // 빈 슬롯
+            if (n == 0) return haversineKm(lat, lon, p0Lat, p0Lon);
+            double cosLat = Math.cos(Math.toRadians(lat));
+            double best = Double.MAX_VALUE;
+            double bestA = Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (bboxLowerBoundA(i, lat, lon, cosLat) >= bestA) continue;
+                double d = pointToSegmentKm(lat, lon, aLat[i], aLon[i], bLat[i], bLon[i]);
+                if (d < best) {
+                    best = d;
+                    bestA = aOf(d);
+                }
+            }
+            return best;
+        }
+
+        /** lats[i], lons[i] 각각의 경로까지 거리 (청크 병렬) */
+        public double[] distancesKm(double[] lats, double[] lons) {
+            int size = lats.length;
+            double[] out = new double[size];
+            int chunks = (size + CHUNK - 1) / CHUNK;
+            IntStream range = IntStream.range(0, chunks);
+            if (chunks > 1) range = range.parallel();
+            range.forEach(c -> {
+                int from = c * CHUNK, to = Math.min(size, from + CHUNK);
+                for (int i = from; i < to; i++) out[i] = distanceKm(lats[i], lons[i]);
+            });
+            return out;
         }
-        return min;
     }
 }
@@ -0,0 +1,53 @@
+package com.homoSSAFYens.homSSAFYens.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTest {
+
+    @Test
+    void neverUnderestimates() {
+        CountMinSketch cms = new CountMinSketch(1 << 10, 4);
+        Map<String, Integer> exact = new HashMap<>();
+        Random r = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            String k = "k" + (int) Math.abs(r.nextGaussian() * 300); // 인기 키 몇 개 + 긴 꼬리
+            exact.merge(k, 1, Integer::sum);
+            cms.add(k);
+        }
+        exact.forEach((k, n) -> assertThat(cms.estimate(k)).isGreaterThanOrEqualTo(n));
+    }
+
+    @Test
+    void addReturnsEstimateAfterIncrement() {
+        CountMinSketch cms = new CountMinSketch(64, 3);
+        assertThat(cms.estimate("a")).isZero();
+        assertThat(cms.add("a")).isEqualTo(1);
+        assertThat(cms.add("a")).isEqualTo(2);
+        assertThat(cms.estimate("a")).isEqualTo(2);
+    }
+
+    @Test
+    void halveDecays() {
+        CountMinSketch cms = new CountMinSketch(64, 3);
+        for (int i = 0; i < 10; i++) cms.add("hot");
+        cms.halve();
+        assertThat(cms.estimate("hot")).isEqualTo(5);
+        cms.halve();
+        cms.halve();
+        cms.halve();
+        assertThat(cms.estimate("hot")).isZero();
+    }
+
+    @Test
+    void rejectsBadDimensions() {
+        assertThatThrownBy(() -> new CountMinSketch(1, 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(16, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
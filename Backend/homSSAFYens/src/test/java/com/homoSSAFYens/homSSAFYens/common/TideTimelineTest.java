@@ -0,0 +1,87 @@
+package com.homoSSAFYens.homSSAFYens.common;
+
+import com.homoSSAFYens.homSSAFYens.dto.TideDailyInfo;
+import com.homoSSAFYens.homSSAFYens.dto.TideEvent;
+import com.homoSSAFYens.homSSAFYens.dto.TideHighInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TideTimelineTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate D1 = LocalDate.of(2025, 7, 21);
+    private static final LocalDate D2 = D1.plusDays(1);
+
+    private static TideDailyInfo day(LocalDate date, TideEvent... events) {
+        return new TideDailyInfo(date, null, null, "부산", null, null, null, null, null, List.of(events));
+    }
+
+    private static TideEvent ev(String time, int level, TideEvent.Trend trend, Integer delta) {
+        return new TideEvent(LocalTime.parse(time), level, trend, delta);
+    }
+
+    private static long at(LocalDate d, String time) {
+        return ZonedDateTime.of(d, LocalTime.parse(time), KST).toEpochSecond();
+    }
+
+    private final TideTimeline tl = TideCalcUtil.timeline(List.of(
+            // 입력 순서가 섞여 있어도 시각 순으로 정렬
+            day(D2, ev("04:00", 30, TideEvent.Trend.FALLING, -110), ev("10:30", 150, TideEvent.Trend.RISING, 120)),
+            day(D1, ev("03:00", 40, TideEvent.Trend.FALLING, null), ev("09:10", 140, TideEvent.Trend.RISING, 100),
+                    ev("15:20", 20, TideEvent.Trend.FALLING, -120), ev("21:40", 160, TideEvent.Trend.RISING, 140))
+    ), KST);
+
+    private static List<Long> allHighs(TideTimeline t) {
+        return t.highsBetween(Long.MIN_VALUE, Long.MAX_VALUE).stream().map(TideHighInfo::epochSecond).toList();
+    }
+
+    @Test
+    void splitsHighsAndLowsInTimeOrder() {
+        assertThat(allHighs(tl)).containsExactly(at(D1, "09:10"), at(D1, "21:40"), at(D2, "10:30"));
+    }
+
+    @Test
+    void prevLowAcrossMidnight() {
+        assertThat(tl.prevLowBefore(at(D2, "10:30")).getAsLong()).isEqualTo(at(D2, "04:00"));
+        assertThat(tl.prevLowBefore(at(D2, "04:00")).getAsLong()).isEqualTo(at(D1, "15:20")); // < T
+        assertThat(tl.prevLowBefore(at(D1, "03:00"))).isEmpty();
+    }
+
+    @Test
+    void highsBetweenIsExclusive() {
+        List<TideHighInfo> highs = tl.highsBetween(at(D1, "09:10"), at(D2, "10:30"));
+        assertThat(highs).extracting(TideHighInfo::epochSecond).containsExactly(at(D1, "21:40"));
+        assertThat(highs.get(0).locationName()).isEqualTo("부산");
+    }
+
+    @Test
+    void deltas() {
+        assertThat(tl.deltaAt(at(D1, "21:40"))).isEqualTo(140);
+        assertThat(tl.deltaAt(at(D1, "15:20"))).isEqualTo(120); // 절댓값
+        assertThat(tl.deltaAt(at(D1, "03:00"))).isZero();      // 변화량 없음
+        assertThat(tl.deltaAt(at(D1, "12:00"))).isZero();      // 이벤트 없음
+    }
+
+    @Test
+    void trendMissingFallsBackToNeighbours() {
+        TideTimeline t = TideCalcUtil.timeline(List.of(day(D1,
+                ev("03:00", 40, null, null), ev("09:00", 140, null, null), ev("15:00", 20, null, null))), KST);
+        assertThat(allHighs(t)).containsExactly(at(D1, "09:00"));
+        assertThat(t.prevLowBefore(at(D1, "09:00")).getAsLong()).isEqualTo(at(D1, "03:00"));
+    }
+
+    @Test
+    void emptyInput() {
+        TideTimeline t = TideCalcUtil.timeline(null, KST);
+        assertThat(allHighs(t)).isEmpty();
+        assertThat(t.prevLowBefore(Long.MAX_VALUE)).isEmpty();
+        assertThat(t.deltaAt(0)).isZero();
+    }
+}
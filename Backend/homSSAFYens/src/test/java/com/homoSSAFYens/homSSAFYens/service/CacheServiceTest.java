@@ -0,0 +1,118 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homoSSAFYens.homSSAFYens.config.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheServiceTest {
+
+    private static final CachePolicy POLICY = CachePolicy.of(Duration.ofMinutes(1), Duration.ofMinutes(10));
+
+    private final CacheProperties props = new CacheProperties();
+    private final CacheValueCodec codec = new CacheValueCodec(new ObjectMapper(), props);
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> lockOps = mock(ValueOperations.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, byte[]> bytes = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, byte[]> ops = mock(ValueOperations.class);
+
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+    private final SingleFlight sf = new SingleFlight(redis, mock(ReactiveStringRedisTemplate.class), refreshTasks::add);
+    private final NearCache near = new NearCache(props, redis, new SimpleMeterRegistry());
+
+    @SuppressWarnings("unchecked")
+    private final CacheService cache = new CacheService(redis, bytes, mock(ReactiveRedisTemplate.class),
+            mock(ReactiveStringRedisTemplate.class), codec, near, sf);
+
+    CacheServiceTest() {
+        when(redis.opsForValue()).thenReturn(lockOps);
+        when(lockOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(bytes.opsForValue()).thenReturn(ops);
+        ReflectionTestUtils.setField(sf, "lease", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(sf, "wait", Duration.ofMillis(100));
+    }
+
+    /** soft 지난 값: 바로 반환 + 백그라운드 갱신은 여러 요청에도 1번 */
+    @Test
+    void staleValueIsServedWithExactlyOneBackgroundRefresh() throws Exception {
+        String key = "temp:35.1,129.0";
+        when(ops.get(key)).thenReturn(codec.encode(key, "old", System.currentTimeMillis() - 1_000));
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.getOrLoad(key, String.class, POLICY, () -> {
+                calls.incrementAndGet();
+                return "new";
+            })).isEqualTo("old");
+        }
+        assertThat(calls).hasValue(0);
+        assertThat(refreshTasks).hasSize(1);
+
+        refreshTasks.get(0).run();
+        assertThat(calls).hasValue(1);
+        verify(ops, times(1)).set(eq(key), any(byte[].class), any(Duration.class));
+        assertThat(cache.getOrLoad(key, String.class, POLICY, () -> "unused")).isEqualTo("new"); // L1 갱신됨
+        assertThat(refreshTasks).hasSize(1);
+    }
+
+    /** 미스: 원본 1번 호출 + 저장, 다음 조회는 L1 */
+    @Test
+    void missLoadsOnceAndStores() {
+        String key = "temp:35.1,129.0";
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(cache.getOrLoad(key, String.class, POLICY, () -> {
+            calls.incrementAndGet();
+            return "v";
+        })).isEqualTo("v");
+        assertThat(cache.getOrLoad(key, String.class, POLICY, () -> "unused")).isEqualTo("v");
+
+        assertThat(calls).hasValue(1);
+        verify(ops, times(1)).set(eq(key), any(byte[].class), any(Duration.class));
+    }
+
+    /** getFresh: soft 전 값만 돌려주고 stale/미스/깨진 값은 빠짐 */
+    @Test
+    void getFreshSkipsStaleMissingAndBrokenValues() throws Exception {
+        long now = System.currentTimeMillis();
+        Map<String, Class<?>> types = new LinkedHashMap<>();
+        types.put("temp:fresh", String.class);
+        types.put("temp:stale", String.class);
+        types.put("temp:missing", String.class);
+        types.put("temp:null", String.class);
+        when(ops.multiGet(List.copyOf(types.keySet()))).thenReturn(Arrays.asList(
+                codec.encode("temp:fresh", "f", now + 60_000),
+                codec.encode("temp:stale", "s", now - 1_000),
+                null,
+                "__NULL__".getBytes()));
+
+        assertThat(cache.getFresh(types)).containsExactly(Map.entry("temp:fresh", "f"));
+    }
+}
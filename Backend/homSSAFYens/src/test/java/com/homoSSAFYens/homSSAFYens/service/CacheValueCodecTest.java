@@ -0,0 +1,80 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homoSSAFYens.homSSAFYens.config.CacheProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValueCodecTest {
+
+    private final ObjectMapper om = new ObjectMapper();
+    private final CacheProperties props = new CacheProperties();
+    private final CacheValueCodec codec = new CacheValueCodec(om, props);
+    private final JavaType mapType = codec.type(new TypeReference<Map<String, Object>>() {});
+
+    @Test
+    void jsonRoundTripKeepsSoftAt() throws Exception {
+        Map<String, Object> v = Map.of("temp", 21.5, "obs", "부산");
+        byte[] raw = codec.encode("temp:35.1,129.0", v, 1_700_000_000_000L);
+
+        CacheValueCodec.Decoded d = codec.decode(raw, mapType);
+        assertThat(d.value()).isEqualTo(v);
+        assertThat(d.softAtMillis()).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void smileRoundTrip() throws Exception {
+        Map<String, Object> v = Map.of("high", List.of(1, 2, 3), "name", "tide");
+        byte[] raw = codec.encode("tide7d:35.1,129.0:20250721", v, CacheValueCodec.NO_SOFT);
+
+        assertThat(raw).isNotEqualTo(om.writeValueAsBytes(v));
+        CacheValueCodec.Decoded d = codec.decode(raw, mapType);
+        assertThat(d.value()).isEqualTo(v);
+        assertThat(d.softAtMillis()).isEqualTo(CacheValueCodec.NO_SOFT);
+    }
+
+    @Test
+    void largePayloadIsLz4CompressedAndRoundTrips() throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 200; i++) rows.add(Map.of("ts", 1_700_000_000L + i * 600, "level", 120, "type", "HIGH"));
+        Map<String, Object> v = Map.of("rows", rows);
+
+        byte[] raw = codec.encode("forecast:35.1,129.0", v, 42L);
+
+        assertThat(raw.length).isLessThan(om.writeValueAsBytes(v).length / 2);
+        CacheValueCodec.Decoded d = codec.decode(raw, mapType);
+        assertThat(d.value()).isEqualTo(om.readValue(om.writeValueAsBytes(v), mapType));
+        assertThat(d.softAtMillis()).isEqualTo(42L);
+    }
+
+    /** 예전 StringRedisTemplate 평문 JSON 엔트리도 읽힘 (soft 없음) */
+    @Test
+    void legacyPlainJsonIsReadable() throws Exception {
+        byte[] legacy = "{\"temp\":21.5}".getBytes();
+
+        CacheValueCodec.Decoded d = codec.decode(legacy, mapType);
+        assertThat(d.value()).isEqualTo(Map.of("temp", 21.5));
+        assertThat(d.softAtMillis()).isEqualTo(CacheValueCodec.NO_SOFT);
+    }
+
+    /** binary-write 를 끄면 예전 노드도 읽는 평문 JSON 으로 씀 */
+    @Test
+    void binaryWriteOffWritesPlainJson() throws Exception {
+        CacheProperties off = new CacheProperties();
+        off.getCodec().setBinaryWrite(false);
+        CacheValueCodec plain = new CacheValueCodec(om, off);
+
+        Map<String, Object> v = Map.of("temp", 21.5);
+        byte[] raw = plain.encode("tide7d:35.1,129.0:20250721", v, 1L);
+
+        assertThat(om.<Map<String, Object>>readValue(raw, mapType)).isEqualTo(v);
+        assertThat(codec.decode(raw, mapType).value()).isEqualTo(v);
+    }
+}
@@ -0,0 +1,141 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.utill.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeviceRegistryTest {
+
+    /** 격자 후보 + 정확 거리 필터 결과가 전체 브루트포스와 같아야 함 */
+    @Test
+    void candidatesNearMatchesBruteForce_200kDevices() {
+        DeviceRegistry reg = new DeviceRegistry();
+        Random r = new Random(42);
+        int n = 200_000;
+        double[] lat = new double[n], lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = 33.0 + r.nextDouble() * 5.0;   // 한반도 주변
+            lon[i] = 124.0 + r.nextDouble() * 8.0;
+            reg.upsert("d" + i, "t" + i, lat[i], lon[i], i);
+        }
+
+        // 긴 구간(대권이 bbox 밖으로 휨) + 짧은 구간 섞인 경로
+        double[][] path = {{34.0, 124.5}, {34.0, 131.5}, {35.2, 129.1}, {36.5, 129.4}, {37.5, 126.5}};
+        double radiusKm = 15.0;
+        GeoUtil.Corridor corridor = GeoUtil.corridor(path);
+
+        Set<String> brute = new TreeSet<>();
+        for (int i = 0; i < n; i++) {
+            if (corridor.distanceKm(lat[i], lon[i]) <= radiusKm) brute.add("d" + i);
+        }
+
+        assertThat(brute).isNotEmpty();
+        assertThat(viaGrid(reg, path, radiusKm)).isEqualTo(brute);
+    }
+
+    /** 고위도 긴 구간: 끝점 bbox 만으로는 놓치는 볼록한 부분의 격자 */
+    @Test
+    void candidatesNearCoversGreatCircleBulge() {
+        DeviceRegistry reg = new DeviceRegistry();
+        double[][] path = {{60.0, 0.0}, {60.0, 40.0}};
+        double[] lat = GeoUtil.segmentLatRange(60.0, 0.0, 60.0, 40.0);
+        assertThat(lat[1]).isGreaterThan(61.0);
+
+        // 구간 한가운데 꼭짓점 바로 옆 (끝점 위도 60 에서 150km 넘게 떨어짐)
+        reg.upsert("top", "t", lat[1] + 0.05, 20.0, 1);
+        reg.upsert("far", "t", 60.0, 20.0, 1);
+        // 다른 곳의 격자를 채워 전체 순회(fallback)가 아니라 격자 후보로 찾게 함
+        for (int i = 0; i < 20_000; i++) {
+            reg.upsert("s" + i, "t", -30.0 + (i / 200) * 0.1, 100.0 + (i % 200) * 0.1, 1);
+        }
+
+        assertThat(viaGrid(reg, path, 10.0)).containsExactly("top");
+    }
+
+    @Test
+    void removeAndMoveUpdateGrid() {
+        DeviceRegistry reg = new DeviceRegistry();
+        double[][] path = {{35.0, 129.0}, {35.0, 129.2}};
+        reg.upsert("a", "t1", 35.0, 129.1, 1);
+        reg.upsert("b", "t2", 35.0, 129.1, 1);
+        assertThat(viaGrid(reg, path, 1.0)).containsExactly("a", "b");
+
+        reg.upsert("a", null, 37.0, 127.0, 2); // 이동 (토큰 유지)
+        reg.remove("b");
+        assertThat(viaGrid(reg, path, 1.0)).isEmpty();
+        assertThat(reg.size()).isEqualTo(1);
+
+        reg.upsert("c", "t3", 35.0, 129.1, 3); // 빈 슬롯 재사용
+        assertThat(viaGrid(reg, path, 1.0)).containsExactly("c");
+    }
+
+    @Test
+    void snapshotDoesNotOverwriteNewerWriteThrough() {
+        DeviceRegistry reg = new DeviceRegistry();
+        double[][] path = {{35.0, 129.0}, {35.0, 129.2}};
+        reg.upsert("a", "new", 35.0, 129.1, 200);   // write-through 가 먼저
+
+        assertThat(reg.upsertIfNewer("a", "old", 37.0, 127.0, 100)).isFalse();
+        assertThat(viaGrid(reg, path, 1.0)).containsExactly("a");
+
+        assertThat(reg.upsertIfNewer("b", "tb", 35.0, 129.1, 100)).isTrue(); // 처음 보는 디바이스
+        reg.updateTokenIfAbsent("a", "old");
+        assertThat(reg.device(slotOf(reg, path, "a")).fcmToken()).isEqualTo("new");
+    }
+
+    @Test
+    void clearTokenOnlyWhenSame() {
+        DeviceRegistry reg = new DeviceRegistry();
+        double[][] path = {{35.0, 129.0}, {35.0, 129.2}};
+        reg.upsert("a", "t1", 35.0, 129.1, 1);
+
+        reg.clearToken("a", "stale");
+        assertThat(reg.device(slotOf(reg, path, "a")).fcmToken()).isEqualTo("t1");
+        reg.clearToken("a", "t1");
+        assertThat(reg.device(slotOf(reg, path, "a")).fcmToken()).isNull();
+    }
+
+    /** 위치를 읽은 뒤 슬롯이 해제·재사용되면 읽어 둔 id 와 달라져서 걸러낼 수 있음 */
+    @Test
+    void readLocationsReturnsIdOfTheLocationItRead() {
+        DeviceRegistry reg = new DeviceRegistry();
+        double[][] path = {{35.0, 129.0}, {35.0, 129.2}};
+        reg.upsert("a", "ta", 35.0, 129.1, 1);
+        int[] slots = {slotOf(reg, path, "a")};
+        double[] la = new double[1], lo = new double[1];
+        String[] ids = new String[1];
+        reg.readLocations(slots, la, lo, ids);
+        assertThat(ids[0]).isEqualTo("a");
+
+        reg.remove("a");
+        reg.upsert("z", "tz", 37.0, 127.0, 2); // 같은 슬롯 재사용
+        assertThat(reg.device(slots[0]).deviceId()).isEqualTo("z").isNotEqualTo(ids[0]);
+    }
+
+    private static int slotOf(DeviceRegistry reg, double[][] path, String deviceId) {
+        for (int s : reg.candidatesNear(path, 1.0)) {
+            DeviceRegistry.DeviceRef d = reg.device(s);
+            if (d != null && d.deviceId().equals(deviceId)) return s;
+        }
+        throw new AssertionError("not found " + deviceId);
+    }
+
+    private static Set<String> viaGrid(DeviceRegistry reg, double[][] path, double radiusKm) {
+        int[] slots = reg.candidatesNear(path, radiusKm);
+        double[] la = new double[slots.length], lo = new double[slots.length];
+        String[] ids = new String[slots.length];
+        reg.readLocations(slots, la, lo, ids);
+        double[] d = GeoUtil.corridor(path).distancesKm(la, lo);
+
+        Set<String> out = new TreeSet<>();
+        for (int k = 0; k < slots.length; k++) {
+            if (d[k] <= radiusKm) out.add(ids[k]);
+        }
+        return out;
+    }
+}
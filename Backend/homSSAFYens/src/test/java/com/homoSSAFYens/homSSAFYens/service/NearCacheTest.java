@@ -0,0 +1,57 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import com.homoSSAFYens.homSSAFYens.config.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class NearCacheTest {
+
+    private final NearCache near = new NearCache(new CacheProperties(), mock(StringRedisTemplate.class),
+            new SimpleMeterRegistry());
+
+    @Test
+    void putKeepsValueWhenNoInvalidationInBetween() {
+        String key = "temp:35.1,129.0";
+        long gen = near.generation(key);
+        near.put(key, "v1", gen);
+
+        assertThat(near.get(key)).isEqualTo("v1");
+    }
+
+    /** Redis 에서 옛 값을 읽는 사이 무효화가 지나가면 그 값은 L1 에 남지 않아야 함 */
+    @Test
+    void fillRacingLocalInvalidationIsDropped() {
+        String key = "temp:35.1,129.0";
+        long gen = near.generation(key);   // 읽기 시작
+        near.invalidateLocal(key);         // 그 사이 새 값 저장 → 무효화
+        near.put(key, "old", gen);         // 옛 값 적재 시도
+
+        assertThat(near.get(key)).isNull();
+    }
+
+    @Test
+    void fillRacingRemoteInvalidationIsDropped() {
+        String key = "tide7d:35.1,129.0:20250721";
+        long gen = near.generation(key);
+        near.onMessage(new DefaultMessage("cache:inval".getBytes(StandardCharsets.UTF_8),
+                ("other-node|" + key).getBytes(StandardCharsets.UTF_8)), null);
+        near.put(key, "old", gen);
+
+        assertThat(near.get(key)).isNull();
+    }
+
+    @Test
+    void prefixWithoutTierIsNotCached() {
+        String key = "lock:temp:35.1,129.0";
+        near.put(key, "v", near.generation(key));
+
+        assertThat(near.get(key)).isNull();
+    }
+}
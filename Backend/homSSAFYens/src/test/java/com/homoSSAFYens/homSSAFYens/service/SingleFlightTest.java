@@ -0,0 +1,149 @@
+package com.homoSSAFYens.homSSAFYens.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SingleFlightTest {
+
+    private static final String KEY = "temp:35.1,129.0";
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> ops = mock(ValueOperations.class);
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+    private final SingleFlight sf = new SingleFlight(redis, mock(ReactiveStringRedisTemplate.class), refreshTasks::add);
+
+    SingleFlightTest() {
+        when(redis.opsForValue()).thenReturn(ops);
+        ReflectionTestUtils.setField(sf, "lease", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(sf, "wait", Duration.ofMillis(100));
+    }
+
+    /** 노드 안 동시 미스: 리더 1명만 원본 호출 */
+    @Test
+    void localFollowersShareOneLoad() throws Exception {
+        when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<String> results = runConcurrently(8, () -> sf.load(KEY, () -> null, () -> {
+            calls.incrementAndGet();
+            sleep(200);
+            return "v";
+        }, v -> {}, v -> true));
+
+        assertThat(results).containsOnly("v").hasSize(8);
+        assertThat(calls).hasValue(1);
+    }
+
+    /** 다른 노드가 리더: 팔로워는 원본을 부르지 않고 채워짐 신호 후 캐시를 읽음 (wait 보다 오래 걸려도 리스가 있으면 기다림) */
+    @Test
+    void remoteFollowersNeverCallLoader() throws Exception {
+        when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(redis.hasKey("lock:" + KEY)).thenReturn(true);
+        AtomicReference<String> cache = new AtomicReference<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        ExecutorService leader = Executors.newSingleThreadExecutor();
+        leader.submit(() -> {
+            sleep(400); // wait(100ms) 여러 번
+            cache.set("v");
+            signal("stored");
+        });
+        List<String> results = runConcurrently(4, () -> sf.load(KEY, cache::get, () -> {
+            calls.incrementAndGet();
+            return "loaded";
+        }, v -> {}, v -> true));
+        leader.shutdown();
+
+        assertThat(results).containsOnly("v").hasSize(4);
+        assertThat(calls).hasValue(0);
+    }
+
+    /** 리더 결과가 저장 대상이 아니면 팔로워도 원본 호출 없이 null */
+    @Test
+    void remoteFollowerFollowsUncachedOutcome() throws Exception {
+        when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(redis.hasKey("lock:" + KEY)).thenReturn(true);
+        AtomicInteger calls = new AtomicInteger();
+
+        ExecutorService leader = Executors.newSingleThreadExecutor();
+        leader.submit(() -> {
+            sleep(200);
+            signal("uncached");
+        });
+        String v = sf.load(KEY, () -> null, () -> {
+            calls.incrementAndGet();
+            return "loaded";
+        }, x -> {}, x -> true);
+        leader.shutdown();
+
+        assertThat(v).isNull();
+        assertThat(calls).hasValue(0);
+    }
+
+    /** soft 만료 갱신은 키당 1번만 예약 */
+    @Test
+    void refreshAsyncSchedulesOncePerKey() {
+        when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            sf.refreshAsync(KEY, () -> { calls.incrementAndGet(); return "v"; }, v -> {}, v -> true);
+        }
+        assertThat(refreshTasks).hasSize(1);
+
+        refreshTasks.get(0).run();
+        assertThat(calls).hasValue(1);
+
+        // 끝난 뒤에는 다시 갱신 가능
+        sf.refreshAsync(KEY, () -> "v", v -> {}, v -> true);
+        assertThat(refreshTasks).hasSize(2);
+    }
+
+    private void signal(String outcome) {
+        sf.onMessage(new DefaultMessage(SingleFlight.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                (KEY + "|" + outcome).getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private static List<String> runConcurrently(int n, java.util.concurrent.Callable<String> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        try {
+            List<Future<String>> fs = new ArrayList<>();
+            for (int i = 0; i < n; i++) fs.add(pool.submit(task));
+            List<String> out = new ArrayList<>();
+            for (Future<String> f : fs) out.add(f.get(10, TimeUnit.SECONDS));
+            return out;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
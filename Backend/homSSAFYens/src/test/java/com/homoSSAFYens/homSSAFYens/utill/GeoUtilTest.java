@@ -0,0 +1,74 @@
+package com.homoSSAFYens.homSSAFYens.utill;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoUtilTest {
+
+    @Test
+    void pointToSegmentKm() {
+        // 적도 위 선분: 수선의 발이 선분 안 → 위도 차만큼
+        assertThat(GeoUtil.pointToSegmentKm(1.0, 5.0, 0.0, 0.0, 0.0, 10.0))
+                .isCloseTo(GeoUtil.KM_PER_DEG, within(0.1));
+        // 선분 위의 점
+        assertThat(GeoUtil.pointToSegmentKm(0.0, 5.0, 0.0, 0.0, 0.0, 10.0)).isCloseTo(0.0, within(1e-6));
+        // A 뒤쪽 / B 너머 → 가까운 끝점까지
+        assertThat(GeoUtil.pointToSegmentKm(0.0, -2.0, 0.0, 0.0, 0.0, 10.0))
+                .isCloseTo(GeoUtil.haversineKm(0.0, -2.0, 0.0, 0.0), within(1e-6));
+        assertThat(GeoUtil.pointToSegmentKm(1.0, 12.0, 0.0, 0.0, 0.0, 10.0))
+                .isCloseTo(GeoUtil.haversineKm(1.0, 12.0, 0.0, 10.0), within(1e-6));
+        // 길이 0 선분
+        assertThat(GeoUtil.pointToSegmentKm(35.0, 129.0, 35.1, 129.1, 35.1, 129.1))
+                .isCloseTo(GeoUtil.haversineKm(35.0, 129.0, 35.1, 129.1), within(1e-9));
+    }
+
+    @Test
+    void segmentLatRangeIncludesVertex() {
+        double[] r = GeoUtil.segmentLatRange(30.0, 120.0, 30.0, 130.0);
+        assertThat(r[0]).isEqualTo(30.0);
+        assertThat(r[1]).isCloseTo(30.0947, within(1e-3));
+
+        // 자오선 방향 선분은 휘지 않음
+        double[] m = GeoUtil.segmentLatRange(30.0, 125.0, 35.0, 125.0);
+        assertThat(m[0]).isEqualTo(30.0);
+        assertThat(m[1]).isCloseTo(35.0, within(1e-9));
+    }
+
+    /** bbox 하한으로 건너뛴 결과가 모든 선분을 다 계산한 최솟값과 같아야 함 */
+    @Test
+    void corridorMatchesBruteForce() {
+        // 대권 볼록 예시: bbox 거리(65km)보다 실제(56km)가 가까움
+        assertThat(GeoUtil.corridor(new double[][]{{30, 120}, {30, 130}}).distanceKm(30.6, 125))
+                .isCloseTo(GeoUtil.pointToSegmentKm(30.6, 125, 30, 120, 30, 130), within(1e-9));
+
+        Random r = new Random(7);
+        for (int t = 0; t < 500; t++) {
+            int n = 2 + r.nextInt(8);
+            double[][] path = new double[n][];
+            for (int i = 0; i < n; i++) path[i] = new double[]{-60 + 120 * r.nextDouble(), -50 + 100 * r.nextDouble()};
+            GeoUtil.Corridor c = GeoUtil.corridor(path);
+
+            for (int k = 0; k < 40; k++) {
+                double lat = -70 + 140 * r.nextDouble(), lon = -60 + 120 * r.nextDouble();
+                double brute = Double.MAX_VALUE;
+                for (int i = 0; i + 1 < n; i++) {
+                    brute = Math.min(brute, GeoUtil.pointToSegmentKm(lat, lon,
+                            path[i][0], path[i][1], path[i + 1][0], path[i + 1][1]));
+                }
+                assertThat(c.distanceKm(lat, lon)).isCloseTo(brute, within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void corridorDistancesKm() {
+        GeoUtil.Corridor c = GeoUtil.corridor(new double[][]{{35.0, 129.0}});
+        double[] d = c.distancesKm(new double[]{35.0, Double.NaN}, new double[]{129.0, Double.NaN});
+        assertThat(d[0]).isCloseTo(0.0, within(1e-9));
+        assertThat(d[1]).isNaN(); // 빈 슬롯
+    }
+}